@@ -0,0 +1,178 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ALT point-to-point search: A* where h(v) is the largest landmark lower bound on d(v, target).
+ * Unlike {@link AStar} it needs no vertex positions. The landmarks are computed once per
+ * snapshot, or loaded from the landmark file when one is set and matches the graph, the
+ * landmark count and the selection.
+ * The result holds exact distances for the vertices closed by the search; all other vertices
+ * are reported as unreached.
+ */
+public class ALT extends Algorithm {
+    public static final int DEFAULT_LANDMARK_COUNT = 8;
+
+    private int landmarkCount = DEFAULT_LANDMARK_COUNT;
+    private Landmarks.Selection selection = Landmarks.Selection.AVOID;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private Path landmarkFile; // optional, landmarks are saved here and reused after a restart
+    private Landmarks landmarks;
+
+    public ALT() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "pick k landmarks L, d(L, v) and d(v, L) for every v");
+        pseudoStep.put(1, "h(v) = max over L of d(L, t) - d(L, v) and d(v, L) - d(t, L)\n"
+                + "A* from the source with PQ ordered by d[u] + h(u), stop at the target");
+        pseudoStep.put(2, "End of ALT");
+    }
+
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    public void setLandmarkCount(int landmarkCount) {
+        this.landmarkCount = landmarkCount;
+        landmarks = null;
+    }
+
+    public Landmarks.Selection getSelection() {
+        return selection;
+    }
+
+    public void setSelection(Landmarks.Selection selection) {
+        this.selection = selection;
+        landmarks = null;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Path getLandmarkFile() {
+        return landmarkFile;
+    }
+
+    public void setLandmarkFile(Path landmarkFile) {
+        this.landmarkFile = landmarkFile;
+    }
+
+    public Landmarks getLandmarks() {
+        return landmarks;
+    }
+
+    // landmarks of the current snapshot: kept, loaded from the landmark file, or computed and saved
+    public Landmarks preprocess() {
+        CompactGraph compact = getCompactGraph();
+        if (landmarks != null && landmarks.getGraph() == compact) {
+            return landmarks;
+        }
+        if (landmarkFile != null && Files.exists(landmarkFile)) {
+            try {
+                landmarks = Landmarks.load(landmarkFile, compact, landmarkCount, selection);
+                return landmarks;
+            } catch (IOException e) {
+                System.out.println(e.getMessage() + ", recomputing the landmarks");
+            }
+        }
+        landmarks = Landmarks.compute(compact, landmarkCount, selection, pool);
+        if (landmarkFile != null) {
+            try {
+                landmarks.save(landmarkFile);
+            } catch (IOException e) {
+                System.out.println("Could not save the landmarks to " + landmarkFile + ": " + e.getMessage());
+            }
+        }
+        return landmarks;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        StringBuilder sb = new StringBuilder();
+        for (int id : landmarks.getLandmarkIds()) {
+            sb.append(landmarks.getGraph().vertex(id).getId()).append(" ");
+        }
+        String description = result.hasPathTo(targetVertex)
+                ? "d[" + targetVertex.getId() + "] = " + result.distanceTo(targetVertex)
+                : targetVertex.getId() + " is not reachable from " + startVertex.getId();
+        addResultStep(2, description + "\nLandmarks: { " + sb + "}, " + settledCount + " vertices settled.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        Landmarks bounds = preprocess();
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        if (target < 0) {
+            throw new IllegalStateException("ALT needs a target vertex");
+        }
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        boolean[] closed = new boolean[n];
+        double[] h = new double[n];
+        Arrays.fill(h, Double.NaN); // computed when a vertex is first reached
+
+        IndexedDaryHeap queue = new IndexedDaryHeap(n);
+        dist[source] = 0;
+        h[source] = bounds.lowerBound(source, target);
+        if (h[source] != Double.POSITIVE_INFINITY) {
+            queue.insert(source, h[source]);
+        }
+        settledCount = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.pollMin();
+            closed[u] = true;
+            settledCount++;
+            if (u == target) {
+                break;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double d = dist[u] + weights[i];
+                if (d < dist[v]) {
+                    if (Double.isNaN(h[v])) {
+                        h[v] = bounds.lowerBound(v, target);
+                    }
+                    if (h[v] == Double.POSITIVE_INFINITY) {
+                        continue; // the target cannot be reached through v
+                    }
+                    dist[v] = d;
+                    parent[v] = u;
+                    // float rounding can make h very slightly inconsistent, so closed vertices may reopen
+                    closed[v] = false;
+                    queue.insertOrDecrease(v, d + h[v]);
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (!closed[v]) {
+                dist[v] = Double.POSITIVE_INFINITY;
+                parent[v] = ShortestPathResult.NO_PARENT;
+            }
+        }
+        dist[source] = 0;
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+}
@@ -0,0 +1,266 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Vertex;
+import com.graph.graph.step.State;
+import com.graph.graph.step.Step;
+
+import java.util.*;
+
+/**
+ * A* point-to-point search with h(v) = scale * euclidean distance from v to the target,
+ * using the vertex positions. h is consistent, and so admissible, as long as no edge is
+ * shorter than scale times the distance between its end points. The largest such scale
+ * is used unless a scale is set, and a scale above it is rejected.
+ */
+public class AStar extends Algorithm {
+    private double heuristicScale = Double.NaN; // NaN uses the largest admissible scale
+
+    // positions and admissible scale of the snapshot they were computed for
+    private CompactGraph geometryGraph;
+    private double[] positionX;
+    private double[] positionY;
+    private double maxAdmissibleScale;
+
+    public AStar() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "h(v) = scale * |v - target|, check scale is admissible");
+        pseudoStep.put(1, "initSSSP, PQ.push(h(source), sourceVertex)");
+        pseudoStep.put(2, "while PQ is not empty // PQ is ordered by d[u] + h(u)");
+        pseudoStep.put(3, "    u = PQ.front(), PQ.pop(), stop if u is the target");
+        pseudoStep.put(4, "    for each neighbor v of u not closed\n\trelax(u,v,w(u,v)) + PQ.push(d[v] + h(v), v)");
+        pseudoStep.put(5, "End of A*");
+    }
+
+    public double getHeuristicScale() {
+        return heuristicScale;
+    }
+
+    public void setHeuristicScale(double heuristicScale) {
+        this.heuristicScale = heuristicScale;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear(); // clear stepList everytime start run algorithm
+        distance.clear();
+        parent.clear();
+        result = null;
+        CompactGraph compact = getCompactGraph();
+        int source = startVertexId(compact);
+        int target = requireTarget(compact);
+        double scale = scale(compact);
+        int n = compact.numVertices();
+
+        List<Vertex> verticesHighlighted = new LinkedList<>();
+        List<Edge> edgesHighlighted = new LinkedList<>();
+        List<Vertex> verticesTraversed = new LinkedList<>();
+        List<Edge> edgesTraversed = new LinkedList<>();
+        List<Vertex> vertexQueued = new LinkedList<>();
+        List<Edge> uselessEdges = new LinkedList<>();
+        List<Vertex> vertexList = new ArrayList<>(graph.getVertices());
+        List<Edge> edgeList = new ArrayList<>(graph.getEdges());
+        String description;
+
+        stepList.add(new Step(0, "h(v) = " + scale + " * |v - " + targetVertex.getId() + "|.\n"
+                + "The largest admissible scale for this graph is " + maxAdmissibleScale + ".",
+                new State(vertexList, edgeList)));
+
+        IndexedDaryHeap queue = new IndexedDaryHeap(n);
+        boolean[] closed = new boolean[n];
+        queue.insert(source, heuristic(source, target, scale));
+        distance.put(startVertex, 0.0);
+        vertexQueued.add(startVertex);
+        description = startVertex.getId() + " is the source vertex.\n"
+                + "Set d[" + startVertex.getId() + "] = 0, PQ = {(" + startVertex.getId() + ", " + queue.keyOf(source) + ")}";
+        stepList.add(new Step(1, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+
+        settledCount = 0;
+        while (!queue.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (Vertex v : vertexQueued) {
+                sb.append("(" + v.getId() + ", " + queue.keyOf(compact.idOf(v)) + ") ");
+            }
+            description = "The queue is : { " + sb + "}";
+            stepList.add(new Step(2, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                    verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+
+            int u = queue.pollMin();
+            closed[u] = true;
+            settledCount++;
+            Vertex vertex = compact.vertex(u);
+            verticesHighlighted.add(vertex);
+            verticesTraversed.add(vertex);
+            vertexQueued.remove(vertex);
+            description = "Current Vertex is " + vertex.getId() + ", d[" + vertex.getId() + "] = " + distance.get(vertex)
+                    + ", h[" + vertex.getId() + "] = " + heuristic(u, target, scale);
+            if (u == target) {
+                description += "\nThe target is reached, stop.";
+            }
+            stepList.add(new Step(3, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                    verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+            if (u == target) {
+                break;
+            }
+
+            for (Edge currentEdge : graph.outgoingEdges(vertex)) {
+                Vertex v = currentEdge.getDestination();
+                int vid = compact.idOf(v);
+                edgesHighlighted.add(currentEdge);
+                stepList.add(new Step(4, "Explore neighbor " + v.getId() + " of " + vertex.getId(),
+                        new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                                verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+                edgesHighlighted.remove(currentEdge);
+                double d = distance.get(vertex) + currentEdge.getWeight();
+                Double old = distance.get(v);
+                if (!closed[vid] && (old == null || d < old)) {
+                    if (parent.get(v) != null) {
+                        Edge oldEdge = graph.getEdge(parent.get(v), v);
+                        edgesTraversed.remove(oldEdge);
+                        uselessEdges.add(oldEdge);
+                    }
+                    distance.put(v, d);
+                    parent.put(v, vertex);
+                    edgesTraversed.add(currentEdge);
+                    double f = d + heuristic(vid, target, scale);
+                    queue.insertOrDecrease(vid, f);
+                    if (!vertexQueued.contains(v)) {
+                        vertexQueued.add(v);
+                    }
+                    description = "d[" + v.getId() + "] = " + d + ", p[" + v.getId() + "] = " + vertex.getId()
+                            + "\nPush (" + v.getId() + ", " + f + ") to PQ.";
+                } else {
+                    uselessEdges.add(currentEdge);
+                    description = closed[vid]
+                            ? v.getId() + " is already closed.\nNo change"
+                            : "d[" + v.getId() + "] is <= d[" + vertex.getId() + "] + w[u,v]\nNo change";
+                }
+                stepList.add(new Step(4, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                        verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+            }
+            verticesHighlighted.remove(vertex);
+        }
+        description = distance.containsKey(targetVertex) && closed[target]
+                ? "d[" + targetVertex.getId() + "] = " + distance.get(targetVertex) + ", " + settledCount + " vertices settled."
+                : targetVertex.getId() + " is not reachable from " + startVertex.getId() + ".";
+        stepList.add(new Step(5, "End of A*\n" + description, new State(vertexList, edgeList, verticesHighlighted,
+                edgesHighlighted, verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+
+        // same result as solve(): the labels of vertices that were never closed are only upper bounds
+        double[] dist = infiniteDistances(n);
+        int[] parentIds = noParents(n);
+        for (int v = 0; v < n; v++) {
+            if (closed[v]) {
+                Vertex vertex = compact.vertex(v);
+                dist[v] = distance.get(vertex);
+                if (parent.containsKey(vertex)) {
+                    parentIds[v] = compact.idOf(parent.get(vertex));
+                }
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parentIds);
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int target = requireTarget(compact);
+        double scale = scale(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        boolean[] closed = new boolean[n];
+
+        IndexedDaryHeap queue = new IndexedDaryHeap(n);
+        dist[source] = 0;
+        queue.insert(source, heuristic(source, target, scale));
+        settledCount = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.pollMin();
+            closed[u] = true;
+            settledCount++;
+            if (u == target) {
+                break;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double d = dist[u] + weights[i];
+                if (!closed[v] && d < dist[v]) {
+                    dist[v] = d;
+                    parent[v] = u;
+                    queue.insertOrDecrease(v, d + heuristic(v, target, scale));
+                }
+            }
+        }
+        // only closed vertices have exact distances, the path to the target is made of them
+        for (int v = 0; v < n; v++) {
+            if (!closed[v]) {
+                dist[v] = Double.POSITIVE_INFINITY;
+                parent[v] = ShortestPathResult.NO_PARENT;
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+
+    private int requireTarget(CompactGraph compact) {
+        int target = targetVertexId(compact);
+        if (target < 0) {
+            throw new IllegalStateException("A* needs a target vertex");
+        }
+        return target;
+    }
+
+    private double heuristic(int v, int target, double scale) {
+        double dx = positionX[v] - positionX[target];
+        double dy = positionY[v] - positionY[target];
+        return scale * Math.sqrt(dx * dx + dy * dy);
+    }
+
+    // scale for this query, the admissibility bound is computed once per snapshot
+    private double scale(CompactGraph compact) {
+        if (geometryGraph != compact) {
+            requireNonNegativeWeights(compact, "A*");
+            int n = compact.numVertices();
+            positionX = new double[n];
+            positionY = new double[n];
+            for (int v = 0; v < n; v++) {
+                positionX[v] = compact.vertex(v).getPositionX();
+                positionY[v] = compact.vertex(v).getPositionY();
+            }
+            int[] offsets = compact.getOffsets();
+            int[] targets = compact.getTargets();
+            double[] weights = compact.getWeights();
+            double bound = Double.POSITIVE_INFINITY;
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    double dx = positionX[u] - positionX[targets[i]];
+                    double dy = positionY[u] - positionY[targets[i]];
+                    double length = Math.sqrt(dx * dx + dy * dy);
+                    if (length > 0) {
+                        bound = Math.min(bound, weights[i] / length);
+                    }
+                }
+            }
+            // shave a little off so rounding can never make h overestimate an edge
+            maxAdmissibleScale = bound == Double.POSITIVE_INFINITY ? 0 : bound * (1 - 1e-9);
+            geometryGraph = compact;
+        }
+        if (Double.isNaN(heuristicScale)) {
+            return maxAdmissibleScale;
+        }
+        if (heuristicScale < 0 || heuristicScale > maxAdmissibleScale) {
+            throw new IllegalStateException("Heuristic scale " + heuristicScale
+                    + " is not admissible, the largest admissible scale is " + maxAdmissibleScale);
+        }
+        return heuristicScale;
+    }
+}
@@ -1,12 +1,18 @@
 package com.graph.graph.algorithm;
 
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
 import com.graph.graph.graphcore.Graph;
 import com.graph.graph.graphcore.Vertex;
+import com.graph.graph.step.State;
 import com.graph.graph.step.Step;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class Algorithm {
     protected Graph graph;
@@ -15,9 +21,16 @@ public abstract class Algorithm {
     protected HashMap<Vertex, Double> distance = new HashMap<>();
     protected HashMap<Vertex, Vertex> parent = new HashMap<>();
     protected Vertex startVertex;
+    protected Vertex targetVertex; // optional, point-to-point engines stop once it is settled
+    protected int settledCount; // vertices settled by the last solve
+    protected ShortestPathResult result;
+    private CompactGraph compactGraph;
+    private Potentials potentials;
 
     public abstract void run();
 
+    // headless run on the array snapshot: distances and parents only, no Step or State is built
+    public abstract ShortestPathResult solve();
 
     public HashMap<Integer, String> getPseudoStep() {
         return pseudoStep;
@@ -35,6 +48,23 @@ public abstract class Algorithm {
         this.graph = graph;
     }
 
+    // array snapshot of the graph, rebuilt only when the graph changed since the last call
+    public CompactGraph getCompactGraph() {
+        if (compactGraph == null || compactGraph.getGraph() != graph || !compactGraph.isCurrent()) {
+            compactGraph = new CompactGraph(graph, true);
+        }
+        return compactGraph;
+    }
+
+    // Johnson potentials of the current snapshot, Bellman-Ford runs once per graph version
+    Potentials getPotentials() {
+        CompactGraph compact = getCompactGraph();
+        if (potentials == null || potentials.getGraph() != compact) {
+            potentials = Potentials.compute(compact);
+        }
+        return potentials;
+    }
+
     public List<Step> getStepList() {
         return stepList;
     }
@@ -51,6 +81,18 @@ public abstract class Algorithm {
         this.startVertex = startVertex;
     }
 
+    public Vertex getTargetVertex() {
+        return targetVertex;
+    }
+
+    public void setTargetVertex(Vertex targetVertex) {
+        this.targetVertex = targetVertex;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
     public HashMap<Vertex, Double> getDistance() {
         return distance;
     }
@@ -58,4 +100,120 @@ public abstract class Algorithm {
     public HashMap<Vertex, Vertex> getParent() {
         return parent;
     }
+
+    protected int startVertexId(CompactGraph compact) {
+        int source = startVertex == null ? -1 : compact.idOf(startVertex);
+        if (source < 0) {
+            throw new IllegalStateException("Start vertex is not in the graph");
+        }
+        return source;
+    }
+
+    // -1 when no target is set
+    protected int targetVertexId(CompactGraph compact) {
+        if (targetVertex == null) {
+            return -1;
+        }
+        int target = compact.idOf(targetVertex);
+        if (target < 0) {
+            throw new IllegalStateException("Target vertex is not in the graph");
+        }
+        return target;
+    }
+
+    protected static void requireNonNegativeWeights(CompactGraph compact, String algorithmName) {
+        for (double w : compact.getWeights()) {
+            if (w < 0) {
+                throw new IllegalStateException(algorithmName + " needs non-negative weights, found " + w);
+            }
+        }
+    }
+
+    protected static double[] infiniteDistances(int n) {
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        return dist;
+    }
+
+    protected static int[] noParents(int n) {
+        int[] parent = new int[n];
+        Arrays.fill(parent, ShortestPathResult.NO_PARENT);
+        return parent;
+    }
+
+    // Bellman-Ford from the source for the engines built on potentials, which do not exist when
+    // the graph has a negative cycle; only a cycle reachable from the source is flagged
+    protected ShortestPathResult solveWithoutPotentials(CompactGraph compact, int source) {
+        double[] dist = infiniteDistances(compact.numVertices());
+        int[] parent = noParents(compact.numVertices());
+        dist[source] = 0;
+        boolean negativeCycle = BellmanFord.shortestPaths(compact.getOffsets(), compact.getTargets(),
+                compact.getWeights(), dist, parent, compact.numVertices() - 1);
+        settledCount = 0;
+        for (double d : dist) {
+            if (d != Double.POSITIVE_INFINITY) {
+                settledCount++;
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        if (negativeCycle) {
+            result.markNegativeCycle();
+        }
+        return result;
+    }
+
+    // the walk with its cycles cut out, so every vertex appears once; with zero-weight edges an
+    // unpacked hierarchy path can pass a vertex twice at the same length
+    protected static List<Edge> withoutCycles(List<Edge> walk) {
+        if (walk.isEmpty()) {
+            return walk;
+        }
+        List<Edge> path = new ArrayList<>(walk.size());
+        Map<Vertex, Integer> position = new IdentityHashMap<>(); // edges on the path before the vertex
+        position.put(walk.get(0).getSource(), 0);
+        for (Edge edge : walk) {
+            Integer seen = position.get(edge.getDestination());
+            if (seen == null) {
+                path.add(edge);
+                position.put(edge.getDestination(), path.size());
+                continue;
+            }
+            while (path.size() > seen) {
+                position.remove(path.remove(path.size() - 1).getDestination());
+            }
+        }
+        return path;
+    }
+
+    // one step showing the shortest path tree of the current result, for engines without a step-by-step trace
+    protected void addResultStep(int stepId, String description) {
+        List<Vertex> vertexList = new ArrayList<>(graph.getVertices());
+        List<Edge> edgeList = new ArrayList<>(graph.getEdges());
+        List<Vertex> verticesTraversed = new ArrayList<>();
+        List<Edge> edgesTraversed = new ArrayList<>();
+        CompactGraph compact = result.getGraph();
+        for (int v = 0; v < compact.numVertices(); v++) {
+            if (!result.hasPathTo(v)) {
+                continue;
+            }
+            Vertex vertex = compact.vertex(v);
+            verticesTraversed.add(vertex);
+            distance.put(vertex, result.distanceTo(v));
+            int p = result.parentOf(v);
+            if (p != ShortestPathResult.NO_PARENT) {
+                parent.put(vertex, compact.vertex(p));
+                edgesTraversed.add(graph.getEdge(compact.vertex(p), vertex));
+            }
+        }
+        stepList.add(new Step(stepId, description, new State(vertexList, edgeList, null, null,
+                verticesTraversed, edgesTraversed, null, null, distance)));
+    }
+
+    // array form of the last run; traced runs are converted from the distance and parent maps
+    public ShortestPathResult getResult() {
+        if (result == null) {
+            result = ShortestPathResult.fromMaps(getCompactGraph(), startVertex, distance, parent);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,61 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.QueueType;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+
+/**
+ * Picks the fastest engine that is correct for a graph from its cached {@link GraphProfile}:
+ * BFS for unit weights, DAG relaxation in topological order for acyclic graphs, 0-1 BFS or
+ * Dial for small integer weights, Dijkstra for other non-negative weights and Goldberg-Radzik
+ * when some weight is negative. The profile is only recomputed after the graph changes.
+ */
+public class AlgorithmSelector {
+    private final Graph graph;
+
+    public AlgorithmSelector(Graph graph) {
+        this.graph = graph;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public GraphProfile getProfile() {
+        return GraphProfile.of(graph);
+    }
+
+    // an engine set up for a query from source, ready to solve
+    public Algorithm select(Vertex source) {
+        return select(source, null);
+    }
+
+    // the target only lets point-to-point engines stop early
+    public Algorithm select(Vertex source, Vertex target) {
+        Algorithm algorithm = choose(getProfile());
+        algorithm.setGraph(graph);
+        algorithm.setStartVertex(source);
+        algorithm.setTargetVertex(target);
+        return algorithm;
+    }
+
+    public static Algorithm choose(GraphProfile profile) {
+        if (profile.hasUnitWeights()) {
+            return new BFS();
+        }
+        if (profile.isAcyclic()) {
+            return new DagShortestPath();
+        }
+        // 0/1 weights are small integers too, the engine picks 0-1 BFS for them itself
+        if (profile.hasNonNegativeWeights() && profile.hasIntegerWeights()
+                && profile.getMaxWeight() <= QueueType.MAX_BUCKET_WEIGHT) {
+            return new SmallWeightShortestPath();
+        }
+        if (profile.hasNonNegativeWeights()) {
+            Dijkstra dijkstra = new Dijkstra();
+            dijkstra.setQueueType(QueueType.AUTO);
+            return dijkstra;
+        }
+        return new GoldbergRadzik();
+    }
+}
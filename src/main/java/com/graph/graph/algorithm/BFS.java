@@ -1,5 +1,6 @@
 package com.graph.graph.algorithm;
 
+import com.graph.graph.graphcore.CompactGraph;
 import com.graph.graph.graphcore.Edge;
 import com.graph.graph.graphcore.Vertex;
 import com.graph.graph.step.State;
@@ -25,6 +26,9 @@ public class BFS extends Algorithm {
     @Override
     public void run() {
         stepList.clear(); // clear stepList everytime start run algorithm
+        distance.clear();
+        parent.clear();
+        result = null;
         Scanner sc = new Scanner(System.in);
         System.out.println("BFS algorithm");
         Queue<Vertex> queue = new LinkedList<>();
@@ -84,8 +88,8 @@ public class BFS extends Algorithm {
             state = new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted, verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance);
             stepList.add(new Step(3, description, state));
 
-            Set<Vertex> neighbors = graph.getNeighbors(vertex.getId());
-            for (Vertex v : neighbors) {
+            for (Edge currentEdge : graph.outgoingEdges(vertex)) {
+                Vertex v = currentEdge.getDestination();
                 StringBuilder step2 = new StringBuilder();
                 step2.append("Explore neighbors of " + vertex.getId() + "\nCurrent neighbor : " + v.getId());
                 step2.append("\n");
@@ -97,7 +101,6 @@ public class BFS extends Algorithm {
                 step2.append("}");
                 description = step2.toString();
 
-                Edge currentEdge = graph.getEdge(vertex.getId(), v.getId());
                 edgesHighlighted.add(currentEdge);
                 state = new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted, verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance);
                 stepList.add(new Step(4, description, state));
@@ -127,5 +130,36 @@ public class BFS extends Algorithm {
         stepList.add(new Step(6, "End of BFS", state));
     }
 
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+
+        // every vertex is queued at most once, so a plain array works as the queue
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        dist[source] = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (dist[v] == Double.POSITIVE_INFINITY) {
+                    dist[v] = dist[u] + 1;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+
 }
 
@@ -0,0 +1,152 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Many independent single source shortest path trees over one graph, run concurrently.
+ * Unlike an {@link Algorithm} it keeps no per-source state, only the immutable snapshot and its
+ * Johnson potentials, so one instance can serve every worker. Sources are handed out in chunks,
+ * and each worker thread keeps its own heap and search arrays between chunks and between calls;
+ * a result only allocates the copies of dist and parent it hands out.
+ */
+public class BatchShortestPaths {
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    private final Graph graph;
+    private Executor executor = ForkJoinPool.commonPool();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private CompactGraph compactGraph;
+    private Potentials potentials;
+    private final ThreadLocal<Workspace> workspace = new ThreadLocal<>();
+
+    public BatchShortestPaths(Graph graph) {
+        this.graph = graph;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive, got " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // one result per source, in the order of sources
+    public List<ShortestPathResult> solveAll(Collection<Vertex> sources) {
+        ShortestPathResult[] results = new ShortestPathResult[sources.size()];
+        run(sources, (index, result) -> results[index] = result);
+        return Arrays.asList(results);
+    }
+
+    // streams each result as soon as it is ready; the consumer is called from the worker threads,
+    // concurrently and in no particular order, and nothing is kept once it returns
+    public void solveAll(Collection<Vertex> sources, Consumer<ShortestPathResult> consumer) {
+        run(sources, (index, result) -> consumer.accept(result));
+    }
+
+    private interface Sink {
+        void accept(int index, ShortestPathResult result);
+    }
+
+    // search state of one worker thread, sized for the graph of its last chunk
+    private static final class Workspace {
+        final IndexedDaryHeap heap;
+        final double[] dist;
+        final int[] parent;
+        final boolean[] settled;
+
+        Workspace(int n) {
+            heap = new IndexedDaryHeap(n);
+            dist = new double[n];
+            parent = new int[n];
+            settled = new boolean[n];
+        }
+    }
+
+    private void run(Collection<Vertex> sources, Sink sink) {
+        CompactGraph compact;
+        Potentials reweighting;
+        synchronized (this) {
+            if (compactGraph == null || !compactGraph.isCurrent()) {
+                compactGraph = new CompactGraph(graph);
+                potentials = Potentials.compute(compactGraph);
+            }
+            compact = compactGraph;
+            reweighting = potentials;
+        }
+        if (reweighting.hasNegativeCycle()) {
+            throw new IllegalStateException("Graph contains negative weight cycle");
+        }
+        int[] ids = new int[sources.size()];
+        int k = 0;
+        for (Vertex source : sources) {
+            ids[k] = compact.idOf(source);
+            if (ids[k] < 0) {
+                throw new IllegalArgumentException("Source vertex " + source.getId() + " is not in the graph");
+            }
+            k++;
+        }
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            int start = from;
+            int end = Math.min(ids.length, from + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> solveChunk(reweighting, ids, start, end, sink), executor));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void solveChunk(Potentials reweighting, int[] ids, int from, int to, Sink sink) {
+        CompactGraph compact = reweighting.getGraph();
+        int n = compact.numVertices();
+        Workspace work = workspace.get();
+        if (work == null || work.dist.length != n) {
+            work = new Workspace(n);
+            workspace.set(work);
+        }
+        double[] dist = work.dist;
+        int[] parent = work.parent;
+        for (int k = from; k < to; k++) {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parent, ShortestPathResult.NO_PARENT);
+            Arrays.fill(work.settled, false);
+            reweighting.shortestPaths(ids[k], -1, dist, parent, work.heap, work.settled);
+            sink.accept(k, new ShortestPathResult(compact, ids[k], dist.clone(), parent.clone()));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.graph.graph.algorithm;
 
+import com.graph.graph.graphcore.CompactGraph;
 import com.graph.graph.graphcore.Edge;
 import com.graph.graph.graphcore.Vertex;
 import com.graph.graph.step.State;
@@ -27,12 +28,13 @@ public class BellmanFord extends Algorithm {
     @Override
     public void run() {
         stepList.clear(); // clear stepList everytime start run algorithm
+        distance.clear();
+        parent.clear();
+        result = null;
         Scanner sc = new Scanner(System.in);
         System.out.println("-------------Bellman Ford-------------");
         Queue<Vertex> queue = new LinkedList<>();
         HashMap<Vertex, Boolean> visited = new HashMap<>();
-        HashMap<Vertex, Vertex> parent = new HashMap<>();
-        HashMap<Vertex, Double> distance = new HashMap<>();
         Double currentDistance = 0.0;
 
         //for save step
@@ -218,10 +220,83 @@ public class BellmanFord extends Algorithm {
             Vertex v = edge.getDestination();
             double weight = edge.getWeight();
             if (distance.get(u) != Double.MAX_VALUE && distance.get(u) + weight < distance.get(v)) {
-                stepList.add(new Step(4, "Graph contains negative weight cycle" +
+                stepList.add(new Step(4, "Graph contains negative weight cycle " + describeNegativeCycle() +
                         "\nThe Shortest path is WRONG", preState));
+                break;
             }
 
         }
     }
+
+    // one negative cycle reachable from the start vertex, e.g. "a -> b -> a"
+    private String describeNegativeCycle() {
+        NegativeCycleDetector detector = new NegativeCycleDetector();
+        detector.setGraph(graph);
+        detector.setStartVertex(startVertex);
+        List<Edge> cycle = detector.findNegativeCycle();
+        if (cycle.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(cycle.get(0).getSource().getId());
+        for (Edge edge : cycle) {
+            sb.append(" -> ").append(edge.getDestination().getId());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        dist[source] = 0;
+        boolean negativeCycle = shortestPaths(compact.getOffsets(), compact.getTargets(), compact.getWeights(),
+                dist, parent, n - 1);
+        result = new ShortestPathResult(compact, source, dist, parent);
+        if (negativeCycle) {
+            result.markNegativeCycle();
+        }
+        return result;
+    }
+
+    // array core shared with Johnson: relaxes all edges up to maxPasses times from the given
+    // distances, true when an edge can still be relaxed afterwards (a negative cycle is reachable)
+    static boolean shortestPaths(int[] offsets, int[] targets, double[] weights,
+                                 double[] dist, int[] parent, int maxPasses) {
+        int n = dist.length;
+        // stop as soon as a pass changes nothing
+        boolean isChanged = true;
+        for (int pass = 1; pass <= maxPasses && isChanged; pass++) {
+            isChanged = false;
+            for (int u = 0; u < n; u++) {
+                if (dist[u] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (dist[u] + weights[i] < dist[v]) {
+                        dist[v] = dist[u] + weights[i];
+                        parent[v] = u;
+                        isChanged = true;
+                    }
+                }
+            }
+        }
+        if (!isChanged) {
+            return false;
+        }
+        for (int u = 0; u < n; u++) {
+            if (dist[u] == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (dist[u] + weights[i] < dist[targets[i]]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,149 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+
+/**
+ * Point-to-point Dijkstra that searches forward from the start vertex and backward from the
+ * target vertex over incoming edges, always expanding the side with the smaller queue.
+ * mu is the length of the best path seen through an edge joining the two searches; the search
+ * stops once the two smallest queue keys add up to at least mu.
+ * The result holds exact distances for the vertices settled by the forward search and for the
+ * vertices on the path; all other vertices are reported as unreached.
+ */
+public class BidirectionalDijkstra extends Algorithm {
+    public BidirectionalDijkstra() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "df[s] = 0, db[t] = 0, mu = Inf");
+        pseudoStep.put(1, "while top(PQf) + top(PQb) < mu\n"
+                + "    settle the top of the smaller queue, relax its edges\n"
+                + "    for each edge (u, v) seen: mu = min(mu, df[u] + w(u,v) + db[v])");
+        pseudoStep.put(2, "End of Bidirectional Dijkstra");
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasPathTo(targetVertex)
+                ? "d[" + targetVertex.getId() + "] = " + result.distanceTo(targetVertex)
+                : targetVertex.getId() + " is not reachable from " + startVertex.getId();
+        addResultStep(2, description + "\nSettled " + settledCount + " vertices in both directions.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        requireNonNegativeWeights(compact, "Bidirectional Dijkstra");
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        if (target < 0) {
+            throw new IllegalStateException("Bidirectional Dijkstra needs a target vertex");
+        }
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        int[] reverseOffsets = compact.getReverseOffsets();
+        int[] reverseSources = compact.getReverseSources();
+        double[] reverseWeights = compact.getReverseWeights();
+
+        double[] forward = infiniteDistances(n);
+        double[] backward = infiniteDistances(n);
+        int[] parent = noParents(n);
+        int[] next = noParents(n); // next vertex towards the target in the backward tree
+        double[] nextWeight = new double[n];
+        boolean[] settledForward = new boolean[n];
+        boolean[] settledBackward = new boolean[n];
+        IndexedDaryHeap forwardQueue = new IndexedDaryHeap(n);
+        IndexedDaryHeap backwardQueue = new IndexedDaryHeap(n);
+
+        forward[source] = 0;
+        backward[target] = 0;
+        forwardQueue.insert(source, 0);
+        backwardQueue.insert(target, 0);
+        double mu = source == target ? 0 : Double.POSITIVE_INFINITY;
+        int meetFrom = source;
+        int meetTo = -1;
+        double meetWeight = 0;
+        settledCount = 0;
+
+        while (!forwardQueue.isEmpty() || !backwardQueue.isEmpty()) {
+            double topForward = forwardQueue.isEmpty() ? Double.POSITIVE_INFINITY : forwardQueue.peekMinKey();
+            double topBackward = backwardQueue.isEmpty() ? Double.POSITIVE_INFINITY : backwardQueue.peekMinKey();
+            if (topForward + topBackward >= mu) {
+                break;
+            }
+            settledCount++;
+            boolean stepForward = backwardQueue.isEmpty()
+                    || (!forwardQueue.isEmpty() && forwardQueue.size() <= backwardQueue.size());
+            if (stepForward) {
+                int u = forwardQueue.pollMin();
+                settledForward[u] = true;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    double d = forward[u] + weights[i];
+                    if (!settledForward[v] && d < forward[v]) {
+                        forward[v] = d;
+                        parent[v] = u;
+                        forwardQueue.insertOrDecrease(v, d);
+                    }
+                    if (d + backward[v] < mu) {
+                        mu = d + backward[v];
+                        meetFrom = u;
+                        meetTo = v;
+                        meetWeight = weights[i];
+                    }
+                }
+            } else {
+                int v = backwardQueue.pollMin();
+                settledBackward[v] = true;
+                for (int i = reverseOffsets[v]; i < reverseOffsets[v + 1]; i++) {
+                    int u = reverseSources[i];
+                    double d = backward[v] + reverseWeights[i];
+                    if (!settledBackward[u] && d < backward[u]) {
+                        backward[u] = d;
+                        next[u] = v;
+                        nextWeight[u] = reverseWeights[i];
+                        backwardQueue.insertOrDecrease(u, d);
+                    }
+                    if (forward[u] + d < mu) {
+                        mu = forward[u] + d;
+                        meetFrom = u;
+                        meetTo = v;
+                        meetWeight = reverseWeights[i];
+                    }
+                }
+            }
+        }
+
+        double[] dist = infiniteDistances(n);
+        int[] tree = noParents(n);
+        for (int v = 0; v < n; v++) {
+            if (settledForward[v]) {
+                dist[v] = forward[v];
+                tree[v] = parent[v];
+            }
+        }
+        if (mu != Double.POSITIVE_INFINITY && source != target) {
+            // forward half of the path up to meetFrom, then the meeting edge and the backward half
+            for (int v = meetFrom; v != source && dist[v] == Double.POSITIVE_INFINITY; v = parent[v]) {
+                dist[v] = forward[v];
+                tree[v] = parent[v];
+            }
+            dist[meetTo] = forward[meetFrom] + meetWeight;
+            tree[meetTo] = meetFrom;
+            for (int v = meetTo; v != target; v = next[v]) {
+                dist[next[v]] = dist[v] + nextWeight[v];
+                tree[next[v]] = v;
+            }
+        }
+        dist[source] = 0;
+        tree[source] = ShortestPathResult.NO_PARENT;
+        result = new ShortestPathResult(compact, source, dist, tree);
+        return result;
+    }
+}
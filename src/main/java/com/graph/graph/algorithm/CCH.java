@@ -0,0 +1,94 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Point-to-point queries on a {@link CustomizableContractionHierarchy}. The hierarchy is built
+ * once for the topology of the graph; when only weights change, e.g. through
+ * {@link Edge#setWeight(double)}, the next query customizes it again instead of rebuilding.
+ * The result holds the distances of the vertices on the shortest path; all other vertices
+ * are reported as unreached.
+ */
+public class CCH extends Algorithm {
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private CustomizableContractionHierarchy hierarchy;
+    private CustomizableContractionHierarchy.Query query;
+    private List<Edge> lastPath;
+
+    public CCH() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "order by nested dissection, eliminate vertices to get the chordal hierarchy");
+        pseudoStep.put(1, "customize: bottom up, w(u,w) = min(w(u,w), w(u,v) + w(v,w)) over lower triangles");
+        pseudoStep.put(2, "walk the elimination tree up from s and from t\n"
+                + "mu = min over v of df[v] + db[v], unpack the shortcuts on the path");
+        pseudoStep.put(3, "End of Customizable Contraction Hierarchies");
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // rebuilds when the topology changed, customizes when only the weights changed
+    public CustomizableContractionHierarchy preprocess() {
+        CompactGraph compact = getCompactGraph();
+        if (hierarchy == null || !hierarchy.getTopology().sameTopology(compact)) {
+            hierarchy = CustomizableContractionHierarchy.build(compact);
+            query = hierarchy.newQuery();
+        }
+        if (hierarchy.getMetric() != compact) {
+            hierarchy.customize(compact, pool);
+        }
+        return hierarchy;
+    }
+
+    // original edges of the path found by the last solve
+    public List<Edge> getPath() {
+        return lastPath;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasPathTo(targetVertex)
+                ? "d[" + targetVertex.getId() + "] = " + result.distanceTo(targetVertex) + ", path of " + lastPath.size() + " edges"
+                : targetVertex.getId() + " is not reachable from " + startVertex.getId();
+        addResultStep(3, description + "\n" + hierarchy.numArcs() + " arcs on " + hierarchy.numLevels()
+                + " levels, " + settledCount + " vertices scanned.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        preprocess();
+        CompactGraph compact = getCompactGraph();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        if (target < 0) {
+            throw new IllegalStateException("Customizable contraction hierarchies need a target vertex");
+        }
+        lastPath = query.path(source, target);
+        settledCount = query.getSettledCount();
+        double[] dist = infiniteDistances(compact.numVertices());
+        int[] parent = noParents(compact.numVertices());
+        dist[source] = 0;
+        for (Edge edge : lastPath) {
+            int u = compact.idOf(edge.getSource());
+            int v = compact.idOf(edge.getDestination());
+            dist[v] = dist[u] + edge.getWeight();
+            parent[v] = u;
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+
+import java.util.List;
+
+/**
+ * Point-to-point queries on a {@link ContractionHierarchy}. The hierarchy is built on the first
+ * query and reused until the graph changes, so repeated queries on a static graph only pay
+ * for two small upward searches.
+ * The result holds the distances of the vertices on the shortest path; all other vertices
+ * are reported as unreached.
+ */
+public class CH extends Algorithm {
+    private ContractionHierarchy hierarchy;
+    private ContractionHierarchy.Query query;
+    private List<Edge> lastPath;
+
+    public CH() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "contract vertices by edge difference, add shortcuts without witness paths");
+        pseudoStep.put(1, "upward Dijkstra from s and backward upward Dijkstra from t\n"
+                + "mu = min over v of df[v] + db[v], unpack the shortcuts on the path");
+        pseudoStep.put(2, "End of Contraction Hierarchies");
+    }
+
+    // hierarchy of the current snapshot, contracted again after the graph changed
+    public ContractionHierarchy preprocess() {
+        CompactGraph compact = getCompactGraph();
+        if (hierarchy == null || hierarchy.getGraph() != compact) {
+            hierarchy = ContractionHierarchy.build(compact);
+            query = hierarchy.newQuery();
+        }
+        return hierarchy;
+    }
+
+    // original edges of the path found by the last solve
+    public List<Edge> getPath() {
+        return lastPath;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasPathTo(targetVertex)
+                ? "d[" + targetVertex.getId() + "] = " + result.distanceTo(targetVertex) + ", path of " + lastPath.size() + " edges"
+                : targetVertex.getId() + " is not reachable from " + startVertex.getId();
+        addResultStep(2, description + "\n" + hierarchy.numShortcuts() + " shortcuts, "
+                + settledCount + " vertices settled.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        preprocess();
+        CompactGraph compact = getCompactGraph();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        if (target < 0) {
+            throw new IllegalStateException("Contraction hierarchies need a target vertex");
+        }
+        lastPath = query.path(source, target);
+        settledCount = query.getSettledCount();
+        double[] dist = infiniteDistances(compact.numVertices());
+        int[] parent = noParents(compact.numVertices());
+        dist[source] = 0;
+        for (Edge edge : lastPath) {
+            int u = compact.idOf(edge.getSource());
+            int v = compact.idOf(edge.getDestination());
+            dist[v] = dist[u] + edge.getWeight();
+            parent[v] = u;
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+}
@@ -0,0 +1,490 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contraction hierarchy of a snapshot. Vertices are contracted one by one in order of
+ * edge difference (shortcuts added minus arcs removed, plus contracted neighbors), with
+ * priorities refreshed lazily when a vertex reaches the top of the queue. Contracting v adds
+ * a shortcut u -> w for every pair of neighbors whose shortest path runs through v, unless a
+ * local witness search finds another path that is no longer.
+ * <p>
+ * Every arc ends up stored at its lower ranked end: the up arrays hold u -> w and the down
+ * arrays hold x -> v with x ranked above v. A query runs Dijkstra upward from both ends.
+ * The hierarchy is immutable; each thread asks for its own {@link Query}.
+ */
+public class ContractionHierarchy {
+    // witness searches give up after this many vertices and keep the shortcut;
+    // priorities only estimate the shortcut count, so they search less
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+
+    private final CompactGraph graph;
+    private final int[] rank;
+    private final int shortcuts;
+
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddle; // contracted vertex a shortcut skips, -1 for an original edge
+
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final double[] downWeights;
+    private final int[] downMiddle;
+
+    private ContractionHierarchy(CompactGraph graph, Contractor contractor) {
+        this.graph = graph;
+        int n = graph.numVertices();
+        rank = contractor.rank;
+        shortcuts = contractor.shortcuts;
+        int up = 0;
+        int down = 0;
+        for (int v = 0; v < n; v++) {
+            up += contractor.out[v].size;
+            down += contractor.in[v].size;
+        }
+        upOffsets = new int[n + 1];
+        upTargets = new int[up];
+        upWeights = new double[up];
+        upMiddle = new int[up];
+        downOffsets = new int[n + 1];
+        downSources = new int[down];
+        downWeights = new double[down];
+        downMiddle = new int[down];
+        up = 0;
+        down = 0;
+        for (int v = 0; v < n; v++) {
+            upOffsets[v] = up;
+            Arcs out = contractor.out[v];
+            for (int i = 0; i < out.size; i++, up++) {
+                upTargets[up] = out.other[i];
+                upWeights[up] = out.weight[i];
+                upMiddle[up] = out.middle[i];
+            }
+            downOffsets[v] = down;
+            Arcs in = contractor.in[v];
+            for (int i = 0; i < in.size; i++, down++) {
+                downSources[down] = in.other[i];
+                downWeights[down] = in.weight[i];
+                downMiddle[down] = in.middle[i];
+            }
+        }
+        upOffsets[n] = up;
+        downOffsets[n] = down;
+    }
+
+    public static ContractionHierarchy build(CompactGraph graph) {
+        Algorithm.requireNonNegativeWeights(graph, "Contraction hierarchies");
+        Contractor contractor = new Contractor(graph);
+        contractor.contractAll();
+        return new ContractionHierarchy(graph, contractor);
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    // position of v in the contraction order, 0 is contracted first
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    public int numShortcuts() {
+        return shortcuts;
+    }
+
+    public int numArcs() {
+        return upTargets.length + downSources.length;
+    }
+
+    public Query newQuery() {
+        return new Query();
+    }
+
+    private int upSlot(int v, int target) {
+        for (int i = upOffsets[v]; i < upOffsets[v + 1]; i++) {
+            if (upTargets[i] == target) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Missing arc " + v + " -> " + target);
+    }
+
+    private int downSlot(int v, int source) {
+        for (int i = downOffsets[v]; i < downOffsets[v + 1]; i++) {
+            if (downSources[i] == source) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Missing arc " + source + " -> " + v);
+    }
+
+    // replaces arc from -> to by the original edges it stands for, in path order
+    private void unpack(int from, int to, int middle, List<Edge> edges) {
+        int[] stack = new int[48];
+        int top = 0;
+        stack[top++] = from;
+        stack[top++] = to;
+        stack[top++] = middle;
+        while (top > 0) {
+            int m = stack[--top];
+            int b = stack[--top];
+            int a = stack[--top];
+            if (m < 0) {
+                edges.add(graph.getGraph().getEdge(graph.vertex(a), graph.vertex(b)));
+                continue;
+            }
+            if (top + 6 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            // m was contracted before a and b, so a -> m is a down arc and m -> b an up arc of m
+            stack[top++] = m;
+            stack[top++] = b;
+            stack[top++] = upMiddle[upSlot(m, b)];
+            stack[top++] = a;
+            stack[top++] = m;
+            stack[top++] = downMiddle[downSlot(m, a)];
+        }
+    }
+
+    /**
+     * Point-to-point search state over the hierarchy, reused between queries so that a query
+     * only touches the vertices it reaches. Not thread safe.
+     */
+    public class Query {
+        private final double[] forward;
+        private final double[] backward;
+        private final int[] forwardParent;
+        private final int[] forwardArc;
+        private final int[] backwardParent;
+        private final int[] backwardArc;
+        private final IndexedDaryHeap forwardQueue;
+        private final IndexedDaryHeap backwardQueue;
+        private final IntList touched = new IntList();
+        private double mu;
+        private int meet;
+        private int settledCount;
+
+        private Query() {
+            int n = graph.numVertices();
+            forward = Algorithm.infiniteDistances(n);
+            backward = Algorithm.infiniteDistances(n);
+            forwardParent = Algorithm.noParents(n);
+            forwardArc = new int[n];
+            backwardParent = Algorithm.noParents(n);
+            backwardArc = new int[n];
+            forwardQueue = new IndexedDaryHeap(n);
+            backwardQueue = new IndexedDaryHeap(n);
+        }
+
+        public int getSettledCount() {
+            return settledCount;
+        }
+
+        public double distance(int s, int t) {
+            search(s, t);
+            return mu;
+        }
+
+        // original edges of a shortest path, empty if t is not reachable or s == t
+        public List<Edge> path(int s, int t) {
+            search(s, t);
+            if (mu == Double.POSITIVE_INFINITY || s == t) {
+                return Collections.emptyList();
+            }
+            IntList up = new IntList();
+            for (int v = meet; v != s; v = forwardParent[v]) {
+                up.add(v);
+            }
+            List<Edge> edges = new ArrayList<>();
+            for (int k = up.size() - 1; k >= 0; k--) {
+                int v = up.get(k);
+                unpack(forwardParent[v], v, upMiddle[forwardArc[v]], edges);
+            }
+            for (int v = meet; v != t; v = backwardParent[v]) {
+                unpack(v, backwardParent[v], downMiddle[backwardArc[v]], edges);
+            }
+            return Algorithm.withoutCycles(edges);
+        }
+
+        private void touch(int v) {
+            if (forward[v] == Double.POSITIVE_INFINITY && backward[v] == Double.POSITIVE_INFINITY) {
+                touched.add(v);
+            }
+        }
+
+        private void search(int s, int t) {
+            for (int k = 0; k < touched.size(); k++) {
+                int v = touched.get(k);
+                forward[v] = Double.POSITIVE_INFINITY;
+                backward[v] = Double.POSITIVE_INFINITY;
+                forwardParent[v] = ShortestPathResult.NO_PARENT;
+                backwardParent[v] = ShortestPathResult.NO_PARENT;
+            }
+            touched.clear();
+            settledCount = 0;
+            touch(s);
+            forward[s] = 0;
+            touch(t);
+            backward[t] = 0;
+            mu = s == t ? 0 : Double.POSITIVE_INFINITY;
+            meet = s;
+            forwardQueue.insert(s, 0);
+            backwardQueue.insert(t, 0);
+
+            while (true) {
+                // a side is done once its smallest key can no longer beat mu
+                boolean forwardDone = forwardQueue.isEmpty() || forwardQueue.peekMinKey() >= mu;
+                boolean backwardDone = backwardQueue.isEmpty() || backwardQueue.peekMinKey() >= mu;
+                if (forwardDone && backwardDone) {
+                    break;
+                }
+                settledCount++;
+                if (backwardDone || (!forwardDone && forwardQueue.peekMinKey() <= backwardQueue.peekMinKey())) {
+                    int u = forwardQueue.pollMin();
+                    if (forward[u] + backward[u] < mu) {
+                        mu = forward[u] + backward[u];
+                        meet = u;
+                    }
+                    if (stalled(u, forward, downOffsets, downSources, downWeights)) {
+                        continue;
+                    }
+                    for (int i = upOffsets[u]; i < upOffsets[u + 1]; i++) {
+                        int v = upTargets[i];
+                        double d = forward[u] + upWeights[i];
+                        if (d < forward[v]) {
+                            touch(v);
+                            forward[v] = d;
+                            forwardParent[v] = u;
+                            forwardArc[v] = i;
+                            forwardQueue.insertOrDecrease(v, d);
+                        }
+                    }
+                } else {
+                    int u = backwardQueue.pollMin();
+                    if (forward[u] + backward[u] < mu) {
+                        mu = forward[u] + backward[u];
+                        meet = u;
+                    }
+                    if (stalled(u, backward, upOffsets, upTargets, upWeights)) {
+                        continue;
+                    }
+                    for (int i = downOffsets[u]; i < downOffsets[u + 1]; i++) {
+                        int x = downSources[i];
+                        double d = backward[u] + downWeights[i];
+                        if (d < backward[x]) {
+                            touch(x);
+                            backward[x] = d;
+                            backwardParent[x] = u;
+                            backwardArc[x] = i;
+                            backwardQueue.insertOrDecrease(x, d);
+                        }
+                    }
+                }
+            }
+            forwardQueue.clear();
+            backwardQueue.clear();
+        }
+
+        // stall on demand: u cannot be on a shortest up-down path if a higher vertex reaches it for less
+        private boolean stalled(int u, double[] dist, int[] offsets, int[] others, double[] weights) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (dist[others[i]] + weights[i] < dist[u]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // arcs of one vertex during contraction, at most one per neighbor
+    private static class Arcs {
+        int[] other = new int[4];
+        double[] weight = new double[4];
+        int[] middle = new int[4];
+        int size = 0;
+
+        // adds the arc or lowers the existing one, false if the existing one is no longer
+        boolean improve(int v, double w, int mid) {
+            for (int i = 0; i < size; i++) {
+                if (other[i] == v) {
+                    if (w < weight[i]) {
+                        weight[i] = w;
+                        middle[i] = mid;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+            if (size == other.length) {
+                other = Arrays.copyOf(other, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+                middle = Arrays.copyOf(middle, size * 2);
+            }
+            other[size] = v;
+            weight[size] = w;
+            middle[size] = mid;
+            size++;
+            return true;
+        }
+
+        void remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (other[i] == v) {
+                    size--;
+                    other[i] = other[size];
+                    weight[i] = weight[size];
+                    middle[i] = middle[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    // contraction state; arcs are removed from the remaining graph as their lower end is contracted
+    private static class Contractor {
+        final int n;
+        final Arcs[] out;
+        final Arcs[] in;
+        final int[] rank;
+        final int[] deleted; // contracted neighbors, spreads contraction evenly over the graph
+        final double[] dist;
+        final IntList touched = new IntList();
+        final IndexedDaryHeap queue;
+        final int[] targetRound;
+        int round = 0;
+        int shortcuts = 0;
+
+        Contractor(CompactGraph graph) {
+            n = graph.numVertices();
+            out = new Arcs[n];
+            in = new Arcs[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new Arcs();
+                in[v] = new Arcs();
+            }
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            double[] weights = graph.getWeights();
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (v != u) {
+                        out[u].improve(v, weights[i], -1);
+                        in[v].improve(u, weights[i], -1);
+                    }
+                }
+            }
+            rank = new int[n];
+            deleted = new int[n];
+            dist = Algorithm.infiniteDistances(n);
+            queue = new IndexedDaryHeap(n);
+            targetRound = new int[n];
+        }
+
+        void contractAll() {
+            IndexedDaryHeap order = new IndexedDaryHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.insert(v, priority(v));
+            }
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.pollMin();
+                double p = priority(v);
+                if (!order.isEmpty() && p > order.peekMinKey()) {
+                    order.insert(v, p); // lazy update, the priority went up since it was queued
+                    continue;
+                }
+                shortcuts += contract(v, false);
+                rank[v] = next++;
+                for (int i = 0; i < in[v].size; i++) {
+                    out[in[v].other[i]].remove(v);
+                    deleted[in[v].other[i]]++;
+                }
+                for (int i = 0; i < out[v].size; i++) {
+                    in[out[v].other[i]].remove(v);
+                    deleted[out[v].other[i]]++;
+                }
+            }
+        }
+
+        double priority(int v) {
+            return contract(v, true) - in[v].size - out[v].size + deleted[v];
+        }
+
+        // shortcuts needed to contract v, only counted when simulating
+        int contract(int v, boolean simulate) {
+            Arcs ins = in[v];
+            Arcs outs = out[v];
+            double maxOut = 0;
+            for (int j = 0; j < outs.size; j++) {
+                maxOut = Math.max(maxOut, outs.weight[j]);
+            }
+            round++;
+            for (int j = 0; j < outs.size; j++) {
+                targetRound[outs.other[j]] = round;
+            }
+            int added = 0;
+            for (int i = 0; i < ins.size; i++) {
+                int u = ins.other[i];
+                double viaV = ins.weight[i];
+                // u itself is skipped as a target below, so settling it must not count
+                int targets = targetRound[u] == round ? outs.size - 1 : outs.size;
+                witness(u, v, viaV + maxOut, targets, simulate ? SIMULATION_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT);
+                for (int j = 0; j < outs.size; j++) {
+                    int w = outs.other[j];
+                    double d = viaV + outs.weight[j];
+                    if (w != u && dist[w] > d) {
+                        added++;
+                        if (!simulate) {
+                            out[u].improve(w, d, v);
+                            in[w].improve(u, d, v);
+                        }
+                    }
+                }
+                for (int k = 0; k < touched.size(); k++) {
+                    dist[touched.get(k)] = Double.POSITIVE_INFINITY;
+                }
+                touched.clear();
+            }
+            return added;
+        }
+
+        // Dijkstra from source in the remaining graph without skip, up to limit or until the
+        // targets marked with the current round are settled
+        void witness(int source, int skip, double limit, int targets, int settleLimit) {
+            dist[source] = 0;
+            touched.add(source);
+            queue.insert(source, 0);
+            int settled = 0;
+            while (!queue.isEmpty()) {
+                int u = queue.pollMin();
+                if (dist[u] > limit || ++settled > settleLimit
+                        || (targetRound[u] == round && --targets == 0)) {
+                    break;
+                }
+                Arcs arcs = out[u];
+                for (int i = 0; i < arcs.size; i++) {
+                    int x = arcs.other[i];
+                    double d = dist[u] + arcs.weight[i];
+                    if (x != skip && d < dist[x] && d <= limit) {
+                        if (dist[x] == Double.POSITIVE_INFINITY) {
+                            touched.add(x);
+                        }
+                        dist[x] = d;
+                        queue.insertOrDecrease(x, d);
+                    }
+                }
+            }
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Customizable contraction hierarchy. Preprocessing only looks at the topology: the vertices
+ * are ordered by nested dissection of the undirected graph and eliminated in that order,
+ * which turns the upper neighbors of every vertex into a clique. Each arc v -> u of the
+ * resulting chordal graph (u ranked above v) carries an up weight for u reached from v and a
+ * down weight for the opposite direction.
+ * <p>
+ * Customization fills those weights from a snapshot with the same topology, so after weight
+ * changes only customize runs again. Arcs are finished bottom up over lower triangles
+ * (v, u, w): vertices on the same elimination level only write their own arcs, so each level
+ * is split across a ForkJoinPool. Queries walk the elimination tree upward from both ends.
+ */
+public class CustomizableContractionHierarchy {
+    // parts up to this size are not dissected further
+    private static final int LEAF_SIZE = 16;
+    // vertices of one level customized on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final CompactGraph topology;
+    private final int[] rank;
+    private final int[] treeParent; // lowest upper neighbor, -1 for roots
+
+    private final int[] arcOffsets;
+    private final int[] arcHeads; // upper neighbors of each vertex, by increasing rank
+    private final int[] lowerOffsets;
+    private final int[] lowerTails; // lower neighbors v of each vertex u
+    private final int[] lowerArcs;  // index of the arc v -> u
+    private final int[] slotArcs;   // original edge slot -> arc * 2, + 1 when it runs downward
+
+    private final int[] levelOffsets;
+    private final int[] levelVertices; // vertices grouped by elimination level
+
+    private volatile Metric metric;
+
+    // customized weights, replaced as a whole so queries never see half a customization
+    private static class Metric {
+        final CompactGraph graph;
+        final double[] up;
+        final double[] down;
+        final int[] upMiddle;   // lowest vertex of the triangle that gave the weight, -1 for an original edge
+        final int[] downMiddle;
+
+        Metric(CompactGraph graph, double[] up, double[] down) {
+            this.graph = graph;
+            this.up = up;
+            this.down = down;
+            upMiddle = new int[up.length];
+            downMiddle = new int[down.length];
+            Arrays.fill(upMiddle, -1);
+            Arrays.fill(downMiddle, -1);
+        }
+    }
+
+    private CustomizableContractionHierarchy(CompactGraph topology) {
+        this.topology = topology;
+        int n = topology.numVertices();
+        int[] adjacencyOffsets = new int[n + 1];
+        int[] adjacency = undirected(topology, adjacencyOffsets);
+        rank = nestedDissection(n, adjacencyOffsets, adjacency);
+        int[] byRank = new int[n];
+        for (int v = 0; v < n; v++) {
+            byRank[rank[v]] = v;
+        }
+
+        // elimination: the upper neighbors of v, minus the lowest, become upper neighbors of the lowest
+        int[][] upper = new int[n][];
+        IntList[] inherited = new IntList[n];
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        int arcs = 0;
+        for (int r = 0; r < n; r++) {
+            int v = byRank[r];
+            IntList ranks = new IntList();
+            for (int i = adjacencyOffsets[v]; i < adjacencyOffsets[v + 1]; i++) {
+                int u = adjacency[i];
+                if (rank[u] > r && mark[u] != r) {
+                    mark[u] = r;
+                    ranks.add(rank[u]);
+                }
+            }
+            if (inherited[v] != null) {
+                for (int k = 0; k < inherited[v].size(); k++) {
+                    int u = inherited[v].get(k);
+                    if (mark[u] != r) {
+                        mark[u] = r;
+                        ranks.add(rank[u]);
+                    }
+                }
+                inherited[v] = null;
+            }
+            int[] sorted = new int[ranks.size()];
+            for (int k = 0; k < sorted.length; k++) {
+                sorted[k] = ranks.get(k);
+            }
+            Arrays.sort(sorted);
+            for (int k = 0; k < sorted.length; k++) {
+                sorted[k] = byRank[sorted[k]];
+            }
+            upper[v] = sorted;
+            arcs += sorted.length;
+            if (sorted.length > 1) {
+                int p = sorted[0];
+                if (inherited[p] == null) {
+                    inherited[p] = new IntList(sorted.length);
+                }
+                for (int k = 1; k < sorted.length; k++) {
+                    inherited[p].add(sorted[k]);
+                }
+            }
+        }
+
+        arcOffsets = new int[n + 1];
+        arcHeads = new int[arcs];
+        treeParent = new int[n];
+        lowerOffsets = new int[n + 1];
+        int a = 0;
+        for (int v = 0; v < n; v++) {
+            arcOffsets[v] = a;
+            treeParent[v] = upper[v].length > 0 ? upper[v][0] : -1;
+            for (int u : upper[v]) {
+                arcHeads[a++] = u;
+                lowerOffsets[u + 1]++;
+            }
+        }
+        arcOffsets[n] = a;
+        for (int v = 0; v < n; v++) {
+            lowerOffsets[v + 1] += lowerOffsets[v];
+        }
+        lowerTails = new int[arcs];
+        lowerArcs = new int[arcs];
+        int[] fill = lowerOffsets.clone();
+        for (int v = 0; v < n; v++) {
+            for (int i = arcOffsets[v]; i < arcOffsets[v + 1]; i++) {
+                int u = arcHeads[i];
+                lowerTails[fill[u]] = v;
+                lowerArcs[fill[u]++] = i;
+            }
+        }
+
+        int[] offsets = topology.getOffsets();
+        int[] targets = topology.getTargets();
+        slotArcs = new int[topology.numEdges()];
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (u == v) {
+                    slotArcs[i] = -1; // a self loop is never on a shortest path
+                } else if (rank[u] < rank[v]) {
+                    slotArcs[i] = arcIndex(u, v) * 2;
+                } else {
+                    slotArcs[i] = arcIndex(v, u) * 2 + 1;
+                }
+            }
+        }
+
+        // level of u is one more than the highest level among its lower neighbors
+        int[] level = new int[n];
+        int levels = 0;
+        for (int r = 0; r < n; r++) {
+            int u = byRank[r];
+            for (int i = lowerOffsets[u]; i < lowerOffsets[u + 1]; i++) {
+                level[u] = Math.max(level[u], level[lowerTails[i]] + 1);
+            }
+            levels = Math.max(levels, level[u] + 1);
+        }
+        levelOffsets = new int[levels + 1];
+        for (int v = 0; v < n; v++) {
+            levelOffsets[level[v] + 1]++;
+        }
+        for (int l = 0; l < levels; l++) {
+            levelOffsets[l + 1] += levelOffsets[l];
+        }
+        levelVertices = new int[n];
+        fill = levelOffsets.clone();
+        for (int v = 0; v < n; v++) {
+            levelVertices[fill[level[v]]++] = v;
+        }
+    }
+
+    public static CustomizableContractionHierarchy build(CompactGraph topology) {
+        return new CustomizableContractionHierarchy(topology);
+    }
+
+    // the snapshot whose topology was preprocessed
+    public CompactGraph getTopology() {
+        return topology;
+    }
+
+    // the snapshot of the last customization, null before the first one
+    public CompactGraph getMetric() {
+        Metric current = metric;
+        return current == null ? null : current.graph;
+    }
+
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    public int numArcs() {
+        return arcHeads.length;
+    }
+
+    public int numLevels() {
+        return levelOffsets.length - 1;
+    }
+
+    // takes the weights of a snapshot with the preprocessed topology
+    public void customize(CompactGraph graph, ForkJoinPool pool) {
+        if (!topology.sameTopology(graph)) {
+            throw new IllegalArgumentException("The graph topology changed, the hierarchy must be built again");
+        }
+        Algorithm.requireNonNegativeWeights(graph, "Customizable contraction hierarchies");
+        double[] up = Algorithm.infiniteDistances(arcHeads.length);
+        double[] down = Algorithm.infiniteDistances(arcHeads.length);
+        double[] weights = graph.getWeights();
+        for (int i = 0; i < weights.length; i++) {
+            int arc = slotArcs[i];
+            if (arc < 0) {
+                continue;
+            }
+            double[] side = (arc & 1) == 0 ? up : down;
+            side[arc >> 1] = Math.min(side[arc >> 1], weights[i]);
+        }
+        Metric next = new Metric(graph, up, down);
+        for (int l = 0; l < numLevels(); l++) {
+            int from = levelOffsets[l];
+            int to = levelOffsets[l + 1];
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                new CustomizeTask(next, from, to).compute();
+            } else {
+                pool.invoke(new CustomizeTask(next, from, to));
+            }
+        }
+        metric = next;
+    }
+
+    // index of the arc v -> u, u ranked above v
+    private int arcIndex(int v, int u) {
+        int lo = arcOffsets[v];
+        int hi = arcOffsets[v + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int r = rank[arcHeads[mid]];
+            if (r < rank[u]) {
+                lo = mid + 1;
+            } else if (r > rank[u]) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // lower triangles (v, u, w) of every arc u -> w of the vertices in a slice of one level
+    private class CustomizeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Metric weights;
+        private final int from;
+        private final int to;
+
+        CustomizeTask(Metric weights, int from, int to) {
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CustomizeTask(weights, from, mid), new CustomizeTask(weights, mid, to));
+                return;
+            }
+            double[] up = weights.up;
+            double[] down = weights.down;
+            int[] upMiddle = weights.upMiddle;
+            int[] downMiddle = weights.downMiddle;
+            for (int k = from; k < to; k++) {
+                int u = levelVertices[k];
+                for (int l = lowerOffsets[u]; l < lowerOffsets[u + 1]; l++) {
+                    int v = lowerTails[l];
+                    int vu = lowerArcs[l];
+                    // upper neighbors of v above u are upper neighbors of u, both lists are sorted by rank
+                    int j = arcOffsets[u];
+                    for (int i = vu + 1; i < arcOffsets[v + 1]; i++) {
+                        int w = arcHeads[i];
+                        while (arcHeads[j] != w) {
+                            j++;
+                        }
+                        // arc j belongs to u, only this task writes it
+                        if (down[vu] + up[i] < up[j]) {
+                            up[j] = down[vu] + up[i];
+                            upMiddle[j] = v;
+                        }
+                        if (down[i] + up[vu] < down[j]) {
+                            down[j] = down[i] + up[vu];
+                            downMiddle[j] = v;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public Query newQuery() {
+        return new Query();
+    }
+
+    /**
+     * Elimination tree search state, reused between queries. Not thread safe, but queries
+     * may run while another thread customizes.
+     */
+    public class Query {
+        private final double[] forward;
+        private final double[] backward;
+        private final int[] forwardArc;  // arc that reached v from below in the forward search
+        private final int[] backwardArc; // arc that reached v from below in the backward search
+        private int lastSource = -1;
+        private int lastTarget = -1;
+        private double mu;
+        private int meet;
+        private int settledCount;
+        private Metric used;
+
+        private Query() {
+            int n = topology.numVertices();
+            forward = Algorithm.infiniteDistances(n);
+            backward = Algorithm.infiniteDistances(n);
+            forwardArc = Algorithm.noParents(n);
+            backwardArc = Algorithm.noParents(n);
+        }
+
+        public int getSettledCount() {
+            return settledCount;
+        }
+
+        public double distance(int s, int t) {
+            search(s, t);
+            return mu;
+        }
+
+        // original edges of a shortest path, empty if t is not reachable or s == t
+        public List<Edge> path(int s, int t) {
+            search(s, t);
+            if (mu == Double.POSITIVE_INFINITY || s == t) {
+                return Collections.emptyList();
+            }
+            IntList arcs = new IntList();
+            for (int v = meet; v != s; v = arcTail(forwardArc[v])) {
+                arcs.add(forwardArc[v]);
+            }
+            List<Edge> edges = new ArrayList<>();
+            for (int k = arcs.size() - 1; k >= 0; k--) {
+                unpack(arcs.get(k) * 2, edges);
+            }
+            for (int v = meet; v != t; v = arcTail(backwardArc[v])) {
+                unpack(backwardArc[v] * 2 + 1, edges);
+            }
+            return Algorithm.withoutCycles(edges);
+        }
+
+        private int arcTail(int arc) {
+            int lo = 0;
+            int hi = arcOffsets.length - 2;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (arcOffsets[mid] <= arc) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return lo;
+        }
+
+        private void search(int s, int t) {
+            Metric current = metric;
+            if (current == null) {
+                throw new IllegalStateException("The hierarchy has not been customized");
+            }
+            used = current;
+            // only the ancestors of the last end points were touched
+            for (int v = lastSource; v >= 0; v = treeParent[v]) {
+                forward[v] = Double.POSITIVE_INFINITY;
+                forwardArc[v] = ShortestPathResult.NO_PARENT;
+            }
+            for (int v = lastTarget; v >= 0; v = treeParent[v]) {
+                backward[v] = Double.POSITIVE_INFINITY;
+                backwardArc[v] = ShortestPathResult.NO_PARENT;
+            }
+            lastSource = s;
+            lastTarget = t;
+            settledCount = 0;
+            forward[s] = 0;
+            backward[t] = 0;
+            for (int v = t; v >= 0; v = treeParent[v]) {
+                settledCount++;
+                if (backward[v] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int i = arcOffsets[v]; i < arcOffsets[v + 1]; i++) {
+                    double d = backward[v] + current.down[i];
+                    if (d < backward[arcHeads[i]]) {
+                        backward[arcHeads[i]] = d;
+                        backwardArc[arcHeads[i]] = i;
+                    }
+                }
+            }
+            // the backward distances are final, so the forward walk can skip vertices that cannot beat mu
+            mu = Double.POSITIVE_INFINITY;
+            meet = s;
+            for (int v = s; v >= 0; v = treeParent[v]) {
+                settledCount++;
+                if (forward[v] + backward[v] < mu) {
+                    mu = forward[v] + backward[v];
+                    meet = v;
+                }
+                if (forward[v] >= mu) {
+                    continue;
+                }
+                for (int i = arcOffsets[v]; i < arcOffsets[v + 1]; i++) {
+                    double d = forward[v] + current.up[i];
+                    if (d < forward[arcHeads[i]]) {
+                        forward[arcHeads[i]] = d;
+                        forwardArc[arcHeads[i]] = i;
+                    }
+                }
+            }
+        }
+
+        // arc * 2 for its upward direction, + 1 for downward; expands it into original edges
+        // through the middle vertices recorded by the customization
+        private void unpack(int directedArc, List<Edge> edges) {
+            IntList stack = new IntList();
+            stack.add(directedArc);
+            while (!stack.isEmpty()) {
+                int top = stack.removeLast();
+                int arc = top >> 1;
+                boolean upward = (top & 1) == 0;
+                int x = arcTail(arc);
+                int h = arcHeads[arc];
+                int v = upward ? used.upMiddle[arc] : used.downMiddle[arc];
+                if (v < 0) {
+                    Edge edge = upward
+                            ? used.graph.getGraph().getEdge(topology.vertex(x), topology.vertex(h))
+                            : used.graph.getGraph().getEdge(topology.vertex(h), topology.vertex(x));
+                    if (edge == null) {
+                        throw new IllegalStateException("Missing edge for arc " + x + " -> " + h);
+                    }
+                    edges.add(edge);
+                    continue;
+                }
+                // the weight came from the lower triangle (v, x, h)
+                int vx = arcIndex(v, x);
+                int vh = arcIndex(v, h);
+                if (vx < 0 || vh < 0) {
+                    throw new IllegalStateException("Missing triangle " + v + " below arc " + x + " -> " + h);
+                }
+                if (upward) {
+                    stack.add(vh * 2);      // v -> h second
+                    stack.add(vx * 2 + 1);  // x -> v first
+                } else {
+                    stack.add(vx * 2);      // v -> x second
+                    stack.add(vh * 2 + 1);  // h -> v first
+                }
+            }
+        }
+    }
+
+    // neighbor lists of the graph with edge directions dropped, without self loops or duplicates
+    private static int[] undirected(CompactGraph graph, int[] adjacencyOffsets) {
+        int n = graph.numVertices();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] reverseOffsets = graph.getReverseOffsets();
+        int[] reverseSources = graph.getReverseSources();
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        IntList adjacency = new IntList(graph.numEdges() * 2);
+        for (int v = 0; v < n; v++) {
+            adjacencyOffsets[v] = adjacency.size();
+            mark[v] = v;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (mark[targets[i]] != v) {
+                    mark[targets[i]] = v;
+                    adjacency.add(targets[i]);
+                }
+            }
+            for (int i = reverseOffsets[v]; i < reverseOffsets[v + 1]; i++) {
+                if (mark[reverseSources[i]] != v) {
+                    mark[reverseSources[i]] = v;
+                    adjacency.add(reverseSources[i]);
+                }
+            }
+        }
+        adjacencyOffsets[n] = adjacency.size();
+        int[] result = new int[adjacency.size()];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = adjacency.get(k);
+        }
+        return result;
+    }
+
+    // ranks by recursive bisection: a part is split by one BFS level around its middle, the
+    // separator is ranked above both halves, parts that fall apart are handled per component
+    private static int[] nestedDissection(int n, int[] adjacencyOffsets, int[] adjacency) {
+        int[] rank = new int[n];
+        int next = n - 1;
+        int[] part = new int[n]; // part id of every unranked vertex, -1 once ranked
+        int[] depth = new int[n];
+        int[] queue = new int[n];
+        int parts = 1;
+        List<int[]> stack = new ArrayList<>();
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) {
+            all[v] = v;
+        }
+        if (n > 0) {
+            stack.add(all);
+        }
+        while (!stack.isEmpty()) {
+            int[] vertices = stack.remove(stack.size() - 1);
+            int id = parts++;
+            for (int v : vertices) {
+                part[v] = id;
+            }
+            if (vertices.length <= LEAF_SIZE) {
+                for (int v : vertices) {
+                    rank[v] = next--;
+                    part[v] = -1;
+                }
+                continue;
+            }
+            int reached = bfs(vertices[0], id, part, depth, queue, adjacencyOffsets, adjacency);
+            if (reached < vertices.length) {
+                // split into components, no separator needed
+                List<int[]> components = new ArrayList<>();
+                for (int v : vertices) {
+                    if (part[v] == id) {
+                        int size = bfs(v, id, part, depth, queue, adjacencyOffsets, adjacency);
+                        int[] component = Arrays.copyOf(queue, size);
+                        for (int c : component) {
+                            part[c] = 0;
+                        }
+                        components.add(component);
+                    }
+                }
+                stack.addAll(components);
+                continue;
+            }
+            // BFS again from the last vertex reached, a vertex far from everything
+            bfs(queue[reached - 1], id, part, depth, queue, adjacencyOffsets, adjacency);
+            int maxDepth = depth[queue[reached - 1]];
+            if (maxDepth < 2) {
+                for (int v : vertices) {
+                    rank[v] = next--;
+                    part[v] = -1;
+                }
+                continue;
+            }
+            int[] count = new int[maxDepth + 1];
+            for (int v : vertices) {
+                count[depth[v]]++;
+            }
+            // the smallest level with between a third and two thirds of the part on its lower side
+            int best = -1;
+            int below = 0;
+            for (int d = 0; d < maxDepth; d++) {
+                if (d > 0 && 3 * below >= vertices.length && 3 * below <= 2 * vertices.length
+                        && (best < 0 || count[d] < count[best])) {
+                    best = d;
+                }
+                below += count[d];
+            }
+            if (best < 0) {
+                // lopsided levels, cut at the middle by count or as deep as possible
+                best = maxDepth - 1;
+                below = 0;
+                for (int d = 1; d < maxDepth; d++) {
+                    below += count[d - 1];
+                    if (2 * below >= vertices.length) {
+                        best = d;
+                        break;
+                    }
+                }
+            }
+            int[] rest = new int[vertices.length - count[best]];
+            int k = 0;
+            for (int v : vertices) {
+                if (depth[v] == best) {
+                    rank[v] = next--;
+                    part[v] = -1;
+                } else {
+                    rest[k++] = v;
+                }
+            }
+            stack.add(rest);
+        }
+        return rank;
+    }
+
+    // BFS within one part, fills depth and queue, returns the number of vertices reached
+    private static int bfs(int source, int id, int[] part, int[] depth, int[] queue,
+                           int[] adjacencyOffsets, int[] adjacency) {
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        depth[source] = 0;
+        part[source] = -2 - id; // visited in this BFS
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = adjacencyOffsets[u]; i < adjacencyOffsets[u + 1]; i++) {
+                int v = adjacency[i];
+                if (part[v] == id) {
+                    part[v] = -2 - id;
+                    depth[v] = depth[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        for (int k = 0; k < tail; k++) {
+            part[queue[k]] = id;
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,192 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Vertex;
+import com.graph.graph.step.State;
+import com.graph.graph.step.Step;
+
+import java.util.*;
+
+/**
+ * Shortest paths on a directed acyclic graph: vertices are taken in topological order, so every
+ * edge is relaxed exactly once, in O(V + E), and negative weights need no special care.
+ * Only the part reachable from the source has to be acyclic; a cycle there is reported instead.
+ */
+public class DagShortestPath extends Algorithm {
+    private List<Vertex> topologicalOrder = Collections.emptyList();
+
+    public DagShortestPath() {
+        super();
+        // init pseudoStep
+        pseudoStep.clear();
+        pseudoStep.put(0, "initSSSP, order = topological sort of the vertices reachable from sourceVertex\n"
+                + "if there is a cycle, stop");
+        pseudoStep.put(1, "for each vertex u in topological order");
+        pseudoStep.put(2, "    for each edge (u, v): relax(u, v, w(u,v))");
+        pseudoStep.put(3, "End of DAG Shortest Path");
+    }
+
+    // vertices reachable from the start vertex in the order the last run scanned them
+    public List<Vertex> getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear(); // clear stepList everytime start run algorithm
+        distance.clear();
+        parent.clear();
+        result = null;
+        System.out.println("DAG Shortest Path algorithm");
+
+        // for save step
+        List<Vertex> verticesHighlighted = new LinkedList<>();
+        List<Edge> edgesHighlighted = new LinkedList<>();
+        List<Vertex> verticesTraversed = new LinkedList<>();
+        List<Edge> edgesTraversed = new LinkedList<>();
+        List<Vertex> vertexQueued = new LinkedList<>();
+        List<Edge> uselessEdges = new LinkedList<>();
+        List<Vertex> vertexList = new ArrayList<>(graph.getVertices());
+        List<Edge> edgeList = new ArrayList<>(graph.getEdges());
+        String description; // save description of vertex and edge
+
+        CompactGraph compact = getCompactGraph();
+        int[] order = topologicalOrder(compact.getOffsets(), compact.getTargets(), startVertexId(compact));
+        if (order == null) {
+            topologicalOrder = Collections.emptyList();
+            stepList.add(new Step(0, "The graph reachable from " + startVertex.getId() + " has a cycle.\n"
+                    + "DAG Shortest Path does not apply, use Bellman-Ford instead.", new State(vertexList, edgeList)));
+            return;
+        }
+        topologicalOrder = new ArrayList<>(order.length);
+        StringBuilder sb = new StringBuilder();
+        for (int v : order) {
+            topologicalOrder.add(compact.vertex(v));
+            sb.append(compact.vertex(v).getId()).append(" ");
+        }
+
+        // step 0
+        for (Vertex vertex : vertexList) {
+            distance.put(vertex, Double.MAX_VALUE);
+        }
+        distance.put(startVertex, 0.0);
+        vertexQueued.addAll(topologicalOrder);
+        description = startVertex.getId() + " is the source vertex.\n"
+                + "Set parent[v] = -1, d[v] = Inf, but d[" + startVertex.getId() + "] = 0.\n"
+                + "Topological order: { " + sb + "}";
+        stepList.add(new Step(0, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+
+        // core algorithm
+        int edgeProcessed = 0;
+        for (Vertex u : topologicalOrder) {
+            vertexQueued.remove(u);
+            verticesHighlighted.add(u);
+            verticesTraversed.add(u);
+            description = "Current vertex is " + u.getId() + ", d[" + u.getId() + "] = " + distance.get(u)
+                    + " is final.";
+            stepList.add(new Step(1, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                    verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+
+            for (Edge edge : graph.outgoingEdges(u)) {
+                Vertex v = edge.getDestination();
+                double weight = edge.getWeight();
+                edgeProcessed++;
+                edgesHighlighted.add(edge);
+                if (distance.get(u) + weight < distance.get(v)) {
+                    if (parent.get(v) != null) {
+                        Edge oldEdge = graph.getEdge(parent.get(v), v);
+                        edgesTraversed.remove(oldEdge);
+                        uselessEdges.add(oldEdge);
+                    }
+                    distance.put(v, distance.get(u) + weight);
+                    parent.put(v, u);
+                    edgesTraversed.add(edge);
+                    description = "relax(" + u.getId() + "," + v.getId() + "," + weight + "), #edge_processed = "
+                            + edgeProcessed + "\nd[" + v.getId() + "] = " + distance.get(v)
+                            + ", p[" + v.getId() + "] = " + u.getId();
+                } else {
+                    uselessEdges.add(edge);
+                    description = "relax(" + u.getId() + "," + v.getId() + "," + weight + "), #edge_processed = "
+                            + edgeProcessed + "\nNo change.";
+                }
+                stepList.add(new Step(2, description, new State(vertexList, edgeList, verticesHighlighted,
+                        edgesHighlighted, verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+                edgesHighlighted.remove(edge);
+            }
+            verticesHighlighted.remove(u);
+        }
+        description = "#edge_processed = " + edgeProcessed + ", every edge reachable from " + startVertex.getId()
+                + " is relaxed once.\nThe highlighted edges are the SSSP spanning tree from source vertex "
+                + startVertex.getId() + ".";
+        stepList.add(new Step(3, description, new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted,
+                verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance)));
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        int[] order = topologicalOrder(offsets, targets, source);
+        if (order == null) {
+            throw new IllegalStateException("The graph reachable from " + startVertex.getId() + " has a cycle");
+        }
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        dist[source] = 0;
+        for (int u : order) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (dist[u] + weights[i] < dist[v]) {
+                    dist[v] = dist[u] + weights[i];
+                    parent[v] = u;
+                }
+            }
+        }
+        settledCount = order.length;
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+
+    // reverse post order of a depth first search from source, null when it meets a cycle
+    static int[] topologicalOrder(int[] offsets, int[] targets, int source) {
+        int n = offsets.length - 1;
+        byte[] color = new byte[n]; // 0 unseen, 1 on the stack, 2 finished
+        int[] stack = new int[n];
+        int[] nextEdge = new int[n];
+        int[] order = new int[n];
+        int finished = 0;
+        int top = 0;
+        stack[top++] = source;
+        nextEdge[source] = offsets[source];
+        color[source] = 1;
+        while (top > 0) {
+            int u = stack[top - 1];
+            if (nextEdge[u] == offsets[u + 1]) {
+                top--;
+                color[u] = 2;
+                order[finished++] = u;
+                continue;
+            }
+            int v = targets[nextEdge[u]++];
+            if (color[v] == 1) {
+                return null; // back edge
+            }
+            if (color[v] == 0) {
+                color[v] = 1;
+                nextEdge[v] = offsets[v];
+                stack[top++] = v;
+            }
+        }
+        int[] reversed = new int[finished];
+        for (int k = 0; k < finished; k++) {
+            reversed[k] = order[finished - 1 - k];
+        }
+        return reversed;
+    }
+}
@@ -0,0 +1,258 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel delta-stepping SSSP for non-negative weights.
+ * Vertices are kept in buckets of width delta by tentative distance. The light edges
+ * (w <= delta) of the lowest bucket are relaxed until the bucket stays empty, then the
+ * heavy edges of every vertex settled in it are relaxed once. Each relaxation phase is
+ * split across a ForkJoinPool and distances are lowered with compare-and-set.
+ */
+public class DeltaStepping extends Algorithm {
+    // frontiers smaller than this are relaxed on the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+
+    private double delta = 0; // bucket width, 0 picks it from the weights
+    private double lastDelta; // width used by the last solve
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public DeltaStepping() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "B[0] = {sourceVertex}, d[v] = Inf for other v");
+        pseudoStep.put(1, "while some bucket is not empty\n"
+                + "    i = lowest non-empty bucket\n"
+                + "    relax light edges of B[i] until B[i] stays empty\n"
+                + "    relax heavy edges of every vertex removed from B[i]");
+        pseudoStep.put(2, "End of Delta-Stepping");
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public void setDelta(double delta) {
+        this.delta = delta;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        addResultStep(2, "Delta-stepping finished with delta = " + lastDelta
+                + ".\nThe highlighted edges are the SSSP spanning tree from source vertex " + startVertex.getId() + ".");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        requireNonNegativeWeights(compact, "Delta-stepping");
+        double d = delta > 0 ? delta : autoDelta(compact);
+        lastDelta = d;
+
+        Run state = new Run(compact, d);
+        state.relax(source, 0);
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        IntList first = new IntList();
+        first.add(source);
+        buckets.put(0L, first);
+
+        int[] stamp = new int[n];
+        boolean[] removed = new boolean[n];
+        int round = 0;
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntList> entry = buckets.pollFirstEntry();
+            long i = entry.getKey();
+            IntList current = entry.getValue();
+            IntList settled = new IntList();
+            while (current != null) {
+                round++;
+                IntList frontier = new IntList(current.size());
+                for (int k = 0; k < current.size(); k++) {
+                    int u = current.get(k);
+                    // skip duplicates and vertices that moved to a lower bucket since they were added
+                    if (stamp[u] != round && state.bucketOf(u) == i) {
+                        stamp[u] = round;
+                        frontier.add(u);
+                        if (!removed[u]) {
+                            removed[u] = true;
+                            settled.add(u);
+                        }
+                    }
+                }
+                distribute(state, relaxAll(state, frontier, true), buckets);
+                current = buckets.remove(i);
+            }
+            distribute(state, relaxAll(state, settled, false), buckets);
+            for (int k = 0; k < settled.size(); k++) {
+                removed[settled.get(k)] = false;
+            }
+        }
+
+        double[] dist = new double[n];
+        for (int v = 0; v < n; v++) {
+            dist[v] = state.distance(v);
+        }
+        result = new ShortestPathResult(compact, source, dist, tightTree(compact, source, dist));
+        return result;
+    }
+
+    // delta = max weight / average out degree, the choice of Meyer and Sanders for random weights
+    static double autoDelta(CompactGraph compact) {
+        double max = 0;
+        double minPositive = Double.POSITIVE_INFINITY;
+        for (double w : compact.getWeights()) {
+            max = Math.max(max, w);
+            if (w > 0) {
+                minPositive = Math.min(minPositive, w);
+            }
+        }
+        if (max == 0) {
+            return 1;
+        }
+        double averageDegree = Math.max(1.0, (double) compact.numEdges() / Math.max(1, compact.numVertices()));
+        return Math.max(minPositive, max / averageDegree);
+    }
+
+    private IntList relaxAll(Run state, IntList frontier, boolean light) {
+        if (frontier.size() <= SEQUENTIAL_THRESHOLD) {
+            return new RelaxTask(state, frontier, 0, frontier.size(), light).compute();
+        }
+        return pool.invoke(new RelaxTask(state, frontier, 0, frontier.size(), light));
+    }
+
+    private static void distribute(Run state, IntList improved, TreeMap<Long, IntList> buckets) {
+        for (int k = 0; k < improved.size(); k++) {
+            int v = improved.get(k);
+            buckets.computeIfAbsent(state.bucketOf(v), b -> new IntList()).add(v);
+        }
+    }
+
+    // parents are chosen after the distances are final, so racing writers cannot leave a stale parent
+    private static int[] tightTree(CompactGraph compact, int source, double[] dist) {
+        int n = compact.numVertices();
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        int[] parent = noParents(n);
+        boolean[] reached = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        reached[source] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (!reached[v] && dist[u] + weights[i] == dist[v]) {
+                    reached[v] = true;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return parent;
+    }
+
+    // shared distances of one solve; non-negative doubles order the same as their bit patterns
+    private static class Run {
+        final CompactGraph compact;
+        final double delta;
+        final AtomicLongArray dist;
+
+        Run(CompactGraph compact, double delta) {
+            this.compact = compact;
+            this.delta = delta;
+            dist = new AtomicLongArray(compact.numVertices());
+            long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+            for (int v = 0; v < compact.numVertices(); v++) {
+                dist.set(v, infinity);
+            }
+        }
+
+        double distance(int v) {
+            return Double.longBitsToDouble(dist.get(v));
+        }
+
+        long bucketOf(int v) {
+            return (long) (distance(v) / delta);
+        }
+
+        // lower d[v] to candidate, true if this call changed it
+        boolean relax(int v, double candidate) {
+            long bits = Double.doubleToRawLongBits(candidate + 0.0); // + 0.0 turns -0.0 into 0.0
+            long current = dist.get(v);
+            while (bits < current) {
+                if (dist.compareAndSet(v, current, bits)) {
+                    return true;
+                }
+                current = dist.get(v);
+            }
+            return false;
+        }
+    }
+
+    private static class RelaxTask extends RecursiveTask<IntList> {
+        private static final long serialVersionUID = 1L;
+
+        private final Run state;
+        private final IntList frontier;
+        private final int from;
+        private final int to;
+        private final boolean light;
+
+        RelaxTask(Run state, IntList frontier, int from, int to, boolean light) {
+            this.state = state;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                RelaxTask left = new RelaxTask(state, frontier, from, mid, light);
+                left.fork();
+                IntList improved = new RelaxTask(state, frontier, mid, to, light).compute();
+                improved.addAll(left.join());
+                return improved;
+            }
+            int[] offsets = state.compact.getOffsets();
+            int[] targets = state.compact.getTargets();
+            double[] weights = state.compact.getWeights();
+            IntList improved = new IntList();
+            for (int k = from; k < to; k++) {
+                int u = frontier.get(k);
+                double du = state.distance(u);
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if ((weights[i] <= state.delta) == light && state.relax(targets[i], du + weights[i])) {
+                        improved.add(targets[i]);
+                    }
+                }
+            }
+            return improved;
+        }
+    }
+}
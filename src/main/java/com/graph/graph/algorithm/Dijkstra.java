@@ -1,5 +1,9 @@
 package com.graph.graph.algorithm;
 
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.algorithm.queue.PriorityQueueStrategy;
+import com.graph.graph.algorithm.queue.QueueType;
+import com.graph.graph.graphcore.CompactGraph;
 import com.graph.graph.graphcore.Edge;
 import com.graph.graph.graphcore.Vertex;
 import com.graph.graph.step.State;
@@ -9,6 +13,9 @@ import java.io.IOException;
 import java.util.*;
 
 public class Dijkstra extends Algorithm {
+    private QueueType queueType = QueueType.DARY_HEAP; // priority queue used by solve()
+    private int arity = IndexedDaryHeap.DEFAULT_ARITY; // arity of the d-ary heap
+
     public Dijkstra() {
         super();
         // init pseudoStep
@@ -24,6 +31,9 @@ public class Dijkstra extends Algorithm {
     @Override
     public void run() {
         stepList.clear(); // clear stepList everytime start run algorithm
+        distance.clear();
+        parent.clear();
+        result = null;
         Scanner sc = new Scanner(System.in);
         System.out.println("Dijkstra algorithm");
         Queue<Vertex> queue = new LinkedList<>();
@@ -85,8 +95,8 @@ public class Dijkstra extends Algorithm {
             state = new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted, verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance);
             stepList.add(new Step(3, description, state));
 
-            Set<Vertex> neighbors = graph.getNeighbors(vertex.getId());
-            for (Vertex v : neighbors) {
+            for (Edge currentEdge : graph.outgoingEdges(vertex)) {
+                Vertex v = currentEdge.getDestination();
                 Double tmpDis = 0.0;
                 StringBuilder step2 = new StringBuilder();
                 step2.append("Explore neighbors of vertex u =" + vertex.getId() + ", d["+vertex.getId()+"] ="+distance.get(vertex)+"\nCurrent neighbor : " + v.getId());
@@ -99,7 +109,6 @@ public class Dijkstra extends Algorithm {
                 step2.append("}");
                 description = step2.toString();
 
-                Edge currentEdge = graph.getEdge(vertex.getId(), v.getId());
                 tmpDis = currentEdge.getWeight();
                 edgesHighlighted.add(currentEdge);
                 state = new State(vertexList, edgeList, verticesHighlighted, edgesHighlighted, verticesTraversed, edgesTraversed, vertexQueued, uselessEdges, distance);
@@ -150,6 +159,93 @@ public class Dijkstra extends Algorithm {
         stepList.add(new Step(5, "End of Dijkstra", state));
     }
 
-}
+    public int getArity() {
+        return arity;
+    }
+
+    public void setArity(int arity) {
+        this.arity = arity;
+    }
+
+    public QueueType getQueueType() {
+        return queueType;
+    }
 
+    public void setQueueType(QueueType queueType) {
+        this.queueType = queueType;
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        // negative weights are handled on the cached Johnson potentials of this graph version,
+        // the integer queues are sized for the graph's own weights so reduced weights get the heap
+        Potentials potentials = getPotentials();
+        if (potentials.hasNegativeCycle()) {
+            return solveWithoutPotentials(compact, source);
+        }
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        PriorityQueueStrategy queue = potentials.isZero()
+                ? queueType.create(compact, arity) : new IndexedDaryHeap(n, arity);
+        settledCount = potentials.shortestPaths(source, target, dist, parent, queue);
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+
+    // array core of solve(), safe to run from several threads on one snapshot; pass the reverse
+    // arrays to search backward. target < 0 searches everything. Returns the number of settled vertices.
+    static int shortestPaths(int[] offsets, int[] targets, double[] weights, int source, int target,
+                             double[] dist, int[] parent, PriorityQueueStrategy queue) {
+        return shortestPaths(offsets, targets, weights, source, target, dist, parent, queue, new boolean[dist.length]);
+    }
 
+    // same with a caller owned settled buffer, all false on entry and marking the settled vertices on return
+    static int shortestPaths(int[] offsets, int[] targets, double[] weights, int source, int target,
+                             double[] dist, int[] parent, PriorityQueueStrategy queue, boolean[] settled) {
+        dist[source] = 0;
+        queue.insertOrDecrease(source, 0);
+        return settleQueued(offsets, targets, weights, target, dist, parent, queue, settled);
+    }
+
+    // the search loop on its own: runs from whatever the queue holds, with dist already set for those vertices
+    static int settleQueued(int[] offsets, int[] targets, double[] weights, int target,
+                            double[] dist, int[] parent, PriorityQueueStrategy queue) {
+        return settleQueued(offsets, targets, weights, target, dist, parent, queue, new boolean[dist.length]);
+    }
+
+    static int settleQueued(int[] offsets, int[] targets, double[] weights, int target,
+                            double[] dist, int[] parent, PriorityQueueStrategy queue, boolean[] settled) {
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.pollMin();
+            settled[u] = true;
+            count++;
+            if (u == target) {
+                // point-to-point query, d[target] is final; labels still in the queue are only
+                // upper bounds, so they are dropped rather than reported as reached
+                queue.clear();
+                for (int v = 0; v < dist.length; v++) {
+                    if (!settled[v]) {
+                        dist[v] = Double.POSITIVE_INFINITY;
+                        parent[v] = ShortestPathResult.NO_PARENT;
+                    }
+                }
+                break;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double d = dist[u] + weights[i];
+                if (!settled[v] && d < dist[v]) {
+                    dist[v] = d;
+                    parent[v] = u;
+                    queue.insertOrDecrease(v, d);
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,261 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless BFS with bitset frontiers that switches direction per level (Beamer's heuristic).
+ * Top-down steps scan the out edges of the frontier; bottom-up steps let every unvisited vertex
+ * scan its in edges until one comes from the frontier, which is far cheaper once the frontier
+ * holds a large part of the graph. Each level is split by bitset words across a ForkJoinPool:
+ * top-down claims vertices with atomic bit sets, bottom-up tasks own their words outright.
+ * Edge weights are ignored, like {@link BFS#solve()}.
+ */
+public class DirectionOptimizingBFS extends Algorithm {
+    private static final int ALPHA = 14; // go bottom-up once frontier edges > unexplored edges / ALPHA
+    private static final int BETA = 24;  // go back top-down once the frontier < |V| / BETA vertices
+    private static final int WORDS_PER_TASK = 256;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private long edgeChecks;
+    private int bottomUpLevels;
+
+    public DirectionOptimizingBFS() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "initSSSP, F = {sourceVertex}");
+        pseudoStep.put(1, "while F is not empty\n"
+                + "    if edges out of F > unexplored edges / 14: bottom-up, else if |F| < |V| / 24: top-down\n"
+                + "    top-down: for u in F, for each unvisited out neighbor v: parent(v) = u, v joins F'\n"
+                + "    bottom-up: for each unvisited v, find one in neighbor u in F: parent(v) = u, v joins F'\n"
+                + "    F = F'");
+        pseudoStep.put(2, "End of direction-optimizing BFS");
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // edges looked at by the last solve
+    public long getEdgeChecks() {
+        return edgeChecks;
+    }
+
+    public int getBottomUpLevels() {
+        return bottomUpLevels;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        addResultStep(2, "The highlighted edges are the BFS spanning tree from source vertex " + startVertex.getId()
+                + ".\n" + bottomUpLevels + " bottom-up levels, " + edgeChecks + " edge checks.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int words = (n + 63) >>> 6;
+        Level level = new Level(compact, n);
+        level.visited = new AtomicLongArray(words);
+        level.frontier = new AtomicLongArray(words);
+        level.visited.set(source >>> 6, 1L << source);
+        level.frontier.set(source >>> 6, 1L << source);
+        level.depth[source] = 0;
+
+        long frontierEdges = compact.outDegree(source);
+        long unexploredEdges = compact.numEdges() - compact.inDegree(source);
+        long frontierSize = 1;
+        boolean bottomUp = false;
+        edgeChecks = 0;
+        bottomUpLevels = 0;
+        settledCount = 1;
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+            level.bottomUp = bottomUp;
+            level.next = new AtomicLongArray(words);
+            level.found.reset();
+            level.foundOutEdges.reset();
+            level.foundInEdges.reset();
+            pool.invoke(new LevelTask(level, 0, words));
+            if (bottomUp) {
+                bottomUpLevels++;
+            }
+            level.frontier = level.next;
+            level.current++;
+            frontierSize = level.found.sum();
+            frontierEdges = level.foundOutEdges.sum();
+            unexploredEdges -= level.foundInEdges.sum();
+            settledCount += (int) frontierSize;
+        }
+        edgeChecks = level.edgeChecks.sum();
+
+        double[] dist = infiniteDistances(n);
+        for (int v = 0; v < n; v++) {
+            if (level.depth[v] >= 0) {
+                dist[v] = level.depth[v];
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, level.parent);
+        return result;
+    }
+
+    // state shared by the tasks of one level
+    private static class Level {
+        final int n;
+        final int[] offsets;
+        final int[] targets;
+        final int[] reverseOffsets;
+        final int[] reverseSources;
+        final int[] depth;
+        final int[] parent;
+        final LongAdder found = new LongAdder();
+        final LongAdder foundOutEdges = new LongAdder();
+        final LongAdder foundInEdges = new LongAdder();
+        final LongAdder edgeChecks = new LongAdder();
+        AtomicLongArray visited;
+        AtomicLongArray frontier;
+        AtomicLongArray next;
+        int current;
+        boolean bottomUp;
+
+        Level(CompactGraph compact, int n) {
+            this.n = n;
+            offsets = compact.getOffsets();
+            targets = compact.getTargets();
+            reverseOffsets = compact.getReverseOffsets();
+            reverseSources = compact.getReverseSources();
+            depth = new int[n];
+            parent = noParents(n);
+            Arrays.fill(depth, -1);
+        }
+    }
+
+    // one level over the bitset words [from, to)
+    private static class LevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Level level;
+        private final int from;
+        private final int to;
+
+        LevelTask(Level level, int from, int to) {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > WORDS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LevelTask(level, from, mid), new LevelTask(level, mid, to));
+                return;
+            }
+            if (level.bottomUp) {
+                bottomUp();
+            } else {
+                topDown();
+            }
+        }
+
+        // frontier vertices of these words claim their unvisited out neighbors anywhere in the graph
+        private void topDown() {
+            int[] offsets = level.offsets;
+            int[] targets = level.targets;
+            AtomicLongArray visited = level.visited;
+            long found = 0;
+            long outEdges = 0;
+            long inEdges = 0;
+            long checks = 0;
+            for (int w = from; w < to; w++) {
+                long bits = level.frontier.get(w);
+                while (bits != 0) {
+                    int u = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    checks += offsets[u + 1] - offsets[u];
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int v = targets[i];
+                        long mask = 1L << v;
+                        if ((visited.get(v >>> 6) & mask) != 0
+                                || (visited.getAndAccumulate(v >>> 6, mask, (a, b) -> a | b) & mask) != 0) {
+                            continue; // visited before, or another task won the claim
+                        }
+                        level.parent[v] = u;
+                        level.depth[v] = level.current + 1;
+                        level.next.getAndAccumulate(v >>> 6, mask, (a, b) -> a | b);
+                        found++;
+                        outEdges += offsets[v + 1] - offsets[v];
+                        inEdges += level.reverseOffsets[v + 1] - level.reverseOffsets[v];
+                    }
+                }
+            }
+            add(found, outEdges, inEdges, checks);
+        }
+
+        // unvisited vertices of these words look for a frontier in neighbor; only this task writes these words
+        private void bottomUp() {
+            int[] reverseOffsets = level.reverseOffsets;
+            int[] reverseSources = level.reverseSources;
+            AtomicLongArray frontier = level.frontier;
+            long found = 0;
+            long outEdges = 0;
+            long inEdges = 0;
+            long checks = 0;
+            for (int w = from; w < to; w++) {
+                long unvisited = ~level.visited.get(w);
+                long reached = 0;
+                while (unvisited != 0) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(unvisited);
+                    unvisited &= unvisited - 1;
+                    if (v >= level.n) {
+                        break;
+                    }
+                    for (int i = reverseOffsets[v]; i < reverseOffsets[v + 1]; i++) {
+                        int u = reverseSources[i];
+                        checks++;
+                        if ((frontier.get(u >>> 6) & (1L << u)) != 0) {
+                            level.parent[v] = u;
+                            level.depth[v] = level.current + 1;
+                            reached |= 1L << v;
+                            found++;
+                            outEdges += level.offsets[v + 1] - level.offsets[v];
+                            inEdges += reverseOffsets[v + 1] - reverseOffsets[v];
+                            break;
+                        }
+                    }
+                }
+                if (reached != 0) {
+                    level.visited.set(w, level.visited.get(w) | reached);
+                    level.next.set(w, reached);
+                }
+            }
+            add(found, outEdges, inEdges, checks);
+        }
+
+        private void add(long found, long outEdges, long inEdges, long checks) {
+            level.found.add(found);
+            level.foundOutEdges.add(outEdges);
+            level.foundInEdges.add(inEdges);
+            level.edgeChecks.add(checks);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * All pairs distances of one graph snapshot in a flat row-major array, d(u, v) at u * n + v,
+ * indexed by the dense vertex ids of a {@link CompactGraph}. A second matrix either holds the
+ * vertex before v on the shortest u-v path, so paths are rebuilt backwards from v, or a vertex
+ * the path goes through, so paths are rebuilt by splitting the pair recursively.
+ * Unreachable pairs have distance {@link Double#POSITIVE_INFINITY} and predecessor -1.
+ */
+public class DistanceMatrix {
+    private final CompactGraph graph;
+    private final int n;
+    private final double[] dist;
+    private final int[] pred; // null when the paths are kept as intermediate vertices
+    private final int[] via;  // vertex k with d(u, v) = d(u, k) + d(k, v), -1 for the edge u-v
+
+    DistanceMatrix(CompactGraph graph, double[] dist, int[] pred) {
+        this(graph, dist, pred, null);
+    }
+
+    private DistanceMatrix(CompactGraph graph, double[] dist, int[] pred, int[] via) {
+        this.graph = graph;
+        this.n = graph.numVertices();
+        this.dist = dist;
+        this.pred = pred;
+        this.via = via;
+    }
+
+    // paths through intermediate vertices do not depend on the order the pairs were relaxed in
+    static DistanceMatrix withIntermediates(CompactGraph graph, double[] dist, int[] via) {
+        return new DistanceMatrix(graph, dist, null, via);
+    }
+
+    // a row-major n x n array filled with POSITIVE_INFINITY
+    static double[] allocate(int n) {
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many vertices for a distance matrix: " + n);
+        }
+        double[] dist = new double[n * n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        return dist;
+    }
+
+    // also used for the intermediate vertices, -1 everywhere
+    static int[] allocatePredecessors(int n) {
+        int[] pred = new int[n * n];
+        Arrays.fill(pred, ShortestPathResult.NO_PARENT);
+        return pred;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public int numVertices() {
+        return n;
+    }
+
+    public double distance(int u, int v) {
+        return dist[u * n + v];
+    }
+
+    public double distance(Vertex u, Vertex v) {
+        return distance(idOf(u), idOf(v));
+    }
+
+    public boolean hasPath(int u, int v) {
+        return dist[u * n + v] != Double.POSITIVE_INFINITY;
+    }
+
+    public boolean hasPath(Vertex u, Vertex v) {
+        return hasPath(idOf(u), idOf(v));
+    }
+
+    public int predecessor(int u, int v) {
+        if (pred != null) {
+            return pred[u * n + v];
+        }
+        IntList path = hasPath(u, v) && u != v ? simplePath(u, v) : null;
+        return path == null ? ShortestPathResult.NO_PARENT : path.get(path.size() - 2);
+    }
+
+    // row u as a single source result
+    public ShortestPathResult resultFrom(int u) {
+        double[] row = Arrays.copyOfRange(dist, u * n, u * n + n);
+        if (pred != null) {
+            return new ShortestPathResult(graph, u, row, Arrays.copyOfRange(pred, u * n, u * n + n));
+        }
+        // prefixes of shortest paths are shortest paths, so a vertex keeps the first parent it gets
+        int[] parent = Algorithm.noParents(n);
+        for (int v = 0; v < n; v++) {
+            if (v == u || parent[v] != ShortestPathResult.NO_PARENT || !hasPath(u, v)) {
+                continue;
+            }
+            IntList path = simplePath(u, v);
+            for (int i = 1; path != null && i < path.size(); i++) {
+                if (parent[path.get(i)] == ShortestPathResult.NO_PARENT) {
+                    parent[path.get(i)] = path.get(i - 1);
+                }
+            }
+        }
+        return new ShortestPathResult(graph, u, row, parent);
+    }
+
+    // vertices from u to v, empty if v is not reachable from u
+    public List<Vertex> path(Vertex from, Vertex to) {
+        int u = idOf(from);
+        int v = idOf(to);
+        if (!hasPath(u, v)) {
+            return Collections.emptyList();
+        }
+        if (pred == null) {
+            IntList ids = simplePath(u, v);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            List<Vertex> path = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                path.add(graph.vertex(ids.get(i)));
+            }
+            return path;
+        }
+        LinkedList<Vertex> path = new LinkedList<>();
+        int steps = 0;
+        for (int x = v; x != ShortestPathResult.NO_PARENT; x = pred[u * n + x]) {
+            path.addFirst(graph.vertex(x));
+            if (++steps > n) {
+                // predecessors form a cycle, only possible with a negative cycle
+                return Collections.emptyList();
+            }
+        }
+        return path;
+    }
+
+    // vertex ids from u to reachable v through the intermediate vertices, with the zero-weight
+    // cycles of the expanded walk cut out; null if the expansion does not end, i.e. on a negative cycle
+    private IntList simplePath(int u, int v) {
+        IntList path = new IntList();
+        int[] position = Algorithm.noParents(n); // index of a vertex in path
+        path.add(u);
+        position[u] = 0;
+        IntList pairs = new IntList();
+        pairs.add(u);
+        pairs.add(v);
+        long budget = (long) n * n;
+        while (!pairs.isEmpty()) {
+            if (--budget < 0) {
+                return null;
+            }
+            int b = pairs.removeLast();
+            int a = pairs.removeLast();
+            int k = via[a * n + b];
+            if (k >= 0) {
+                pairs.add(k); // k-b after a-k
+                pairs.add(b);
+                pairs.add(a);
+                pairs.add(k);
+            } else if (position[b] >= 0) {
+                while (path.size() > position[b] + 1) {
+                    position[path.removeLast()] = -1;
+                }
+            } else {
+                position[b] = path.size();
+                path.add(b);
+            }
+        }
+        return path;
+    }
+
+    private int idOf(Vertex vertex) {
+        int id = graph.idOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex " + vertex.getId() + " is not in the graph");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,198 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Blocked Floyd-Warshall on a flat row-major matrix, for dense graphs.
+ * The matrix is cut into tiles small enough for three to stay in cache. For each diagonal tile
+ * kb: phase 1 relaxes the tile itself, phase 2 the tiles in its row and column, which only
+ * need the diagonal tile, and phase 3 all other tiles, which only need their phase 2 tiles.
+ * The tiles of phases 2 and 3 are independent and run on a ForkJoinPool.
+ * Paths are kept as the vertex k each pair was last improved through; copying predecessors
+ * from row k is only sound in the plain k, i, j order, which the phases do not follow.
+ */
+public class FloydWarshall extends Algorithm {
+    public static final int DEFAULT_TILE_SIZE = 64; // 3 tiles of 64 x 64 doubles fit a 128 KB L2
+    private static final int TILES_PER_TASK = 4;
+
+    private int tileSize = DEFAULT_TILE_SIZE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private DistanceMatrix matrix;
+    private boolean negativeCycle;
+
+    public FloydWarshall() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "d[u][v] = w(u,v), d[v][v] = 0, via[u][v] = -1");
+        pseudoStep.put(1, "for each k, u, v\n"
+                + "    if d[u][k] + d[k][v] < d[u][v]: d[u][v] = d[u][k] + d[k][v], via[u][v] = k");
+        pseudoStep.put(2, "if some d[v][v] < 0, -∞ cycle found");
+        pseudoStep.put(3, "End of Floyd-Warshall");
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public void setTileSize(int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("Tile size must be positive, got " + tileSize);
+        }
+        this.tileSize = tileSize;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasNegativeCycle()
+                ? "Graph contains negative weight cycle"
+                : "The highlighted edges are the SSSP spanning tree from source vertex " + startVertex.getId()
+                + ",\ntaken from the all pairs matrix.";
+        addResultStep(3, description);
+    }
+
+    // row of the start vertex in the all pairs matrix
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int source = startVertexId(compact);
+        result = computeMatrix(compact).resultFrom(source);
+        if (negativeCycle) {
+            result.markNegativeCycle();
+        }
+        return result;
+    }
+
+    // distances between all pairs, kept until the graph changes
+    public DistanceMatrix computeAll() {
+        DistanceMatrix all = computeMatrix(getCompactGraph());
+        if (negativeCycle) {
+            throw new IllegalStateException("Graph contains negative weight cycle");
+        }
+        return all;
+    }
+
+    private DistanceMatrix computeMatrix(CompactGraph compact) {
+        if (matrix != null && matrix.getGraph() == compact) {
+            return matrix;
+        }
+        int n = compact.numVertices();
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = DistanceMatrix.allocate(n);
+        int[] via = DistanceMatrix.allocatePredecessors(n);
+        for (int u = 0; u < n; u++) {
+            dist[u * n + u] = 0;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                dist[u * n + v] = Math.min(dist[u * n + v], weights[i]);
+            }
+        }
+
+        int tiles = (n + tileSize - 1) / tileSize;
+        for (int kb = 0; kb < tiles; kb++) {
+            relaxTile(dist, via, n, tileSize, kb, kb, kb);
+            pool.invoke(new TileTask(dist, via, n, tileSize, tiles, kb, true, 0, 2 * tiles));
+            pool.invoke(new TileTask(dist, via, n, tileSize, tiles, kb, false, 0, tiles * tiles));
+        }
+
+        negativeCycle = false;
+        for (int v = 0; v < n && !negativeCycle; v++) {
+            negativeCycle = dist[v * n + v] < 0;
+        }
+        matrix = DistanceMatrix.withIntermediates(compact, dist, via);
+        return matrix;
+    }
+
+    // relaxes tile (ib, jb) through the vertices k of tile kb
+    private static void relaxTile(double[] dist, int[] via, int n, int tileSize, int ib, int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * tileSize);
+        int jStart = jb * tileSize;
+        int jEnd = Math.min(n, jStart + tileSize);
+        int kEnd = Math.min(n, (kb + 1) * tileSize);
+        for (int k = kb * tileSize; k < kEnd; k++) {
+            int rowK = k * n;
+            for (int i = ib * tileSize; i < iEnd; i++) {
+                int rowI = i * n;
+                double dik = dist[rowI + k];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = jStart; j < jEnd; j++) {
+                    double d = dik + dist[rowK + j];
+                    if (d < dist[rowI + j]) {
+                        dist[rowI + j] = d;
+                        via[rowI + j] = k;
+                    }
+                }
+            }
+        }
+    }
+
+    // tiles [from, to) of phase 2 (row tiles, then column tiles of kb) or phase 3 (all tiles row-major)
+    private static class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] dist;
+        private final int[] via;
+        private final int n;
+        private final int tileSize;
+        private final int tiles;
+        private final int kb;
+        private final boolean phase2;
+        private final int from;
+        private final int to;
+
+        TileTask(double[] dist, int[] via, int n, int tileSize, int tiles, int kb, boolean phase2, int from, int to) {
+            this.dist = dist;
+            this.via = via;
+            this.n = n;
+            this.tileSize = tileSize;
+            this.tiles = tiles;
+            this.kb = kb;
+            this.phase2 = phase2;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TILES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(dist, via, n, tileSize, tiles, kb, phase2, from, mid),
+                        new TileTask(dist, via, n, tileSize, tiles, kb, phase2, mid, to));
+                return;
+            }
+            for (int t = from; t < to; t++) {
+                int ib;
+                int jb;
+                if (phase2) {
+                    ib = t < tiles ? kb : t - tiles;
+                    jb = t < tiles ? t : kb;
+                } else {
+                    ib = t / tiles;
+                    jb = t % tiles;
+                }
+                if (ib == kb && jb == kb || !phase2 && (ib == kb || jb == kb)) {
+                    continue; // done in an earlier phase
+                }
+                relaxTile(dist, via, n, tileSize, ib, jb, kb);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+
+/**
+ * Goldberg-Radzik shortest paths, for graphs with negative weights.
+ * Each pass takes the labelled vertices (distance dropped, not scanned yet) that have an out
+ * edge of negative reduced cost d[u] + w(u,v) - d[v], collects everything they reach over such
+ * edges by depth first search, and scans the collected vertices in topological order, so a
+ * distance improvement travels along a whole chain in one pass. A cycle of negative reduced
+ * cost edges is a negative cycle, found by the search itself; any other negative cycle keeps
+ * the passes going past n - 1.
+ */
+public class GoldbergRadzik extends Algorithm {
+    private static final int WHITE = 0;
+    private static final int ON_STACK = 1;
+    private static final int WAITING = 2; // collected, not scanned yet in this pass
+
+    private int passes;
+
+    public GoldbergRadzik() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "initSSSP, B = {sourceVertex}");
+        pseudoStep.put(1, "while B is not empty\n"
+                + "    A = vertices reachable from B over edges with d[u] + w(u,v) - d[v] < 0\n"
+                + "    if A has a cycle, -∞ cycle found\n"
+                + "    B = {}, scan A in topological order, add improved vertices to B");
+        pseudoStep.put(2, "End of Goldberg-Radzik");
+    }
+
+    // passes made by the last solve
+    public int getPasses() {
+        return passes;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasNegativeCycle()
+                ? "Graph contains negative weight cycle"
+                : "The highlighted edges are the SSSP spanning tree from source vertex " + startVertex.getId() + ".";
+        addResultStep(2, description + "\n" + passes + " passes, " + settledCount + " vertex scans.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+
+        int[] color = new int[n];
+        boolean[] labelled = new boolean[n];
+        IntList current = new IntList();
+        int[] order = new int[n];      // post order of the search, reversed it is topological
+        int[] stack = new int[n];
+        int[] nextEdge = new int[n];
+        boolean negativeCycle = false;
+
+        dist[source] = 0;
+        current.add(source);
+        labelled[source] = true;
+        passes = 0;
+        settledCount = 0;
+        while (!current.isEmpty() && !negativeCycle) {
+            if (++passes > n) {
+                // like Bellman-Ford, n - 1 passes settle every shortest path
+                negativeCycle = true;
+                break;
+            }
+            int collected = 0;
+            for (int k = 0; k < current.size() && !negativeCycle; k++) {
+                int b = current.get(k);
+                labelled[b] = false;
+                if (color[b] != WHITE || !hasNegativeEdge(b, dist, offsets, targets, weights)) {
+                    continue; // already collected, or scanning b would improve nothing
+                }
+                int top = 0;
+                stack[top++] = b;
+                nextEdge[b] = offsets[b];
+                color[b] = ON_STACK;
+                while (top > 0) {
+                    int u = stack[top - 1];
+                    if (nextEdge[u] == offsets[u + 1]) {
+                        top--;
+                        color[u] = WAITING;
+                        order[collected++] = u;
+                        continue;
+                    }
+                    int i = nextEdge[u]++;
+                    int v = targets[i];
+                    if (dist[u] + weights[i] < dist[v]) {
+                        if (color[v] == ON_STACK) {
+                            negativeCycle = true;
+                            break;
+                        }
+                        if (color[v] == WHITE) {
+                            color[v] = ON_STACK;
+                            nextEdge[v] = offsets[v];
+                            stack[top++] = v;
+                        }
+                    }
+                }
+            }
+            current.clear();
+            if (negativeCycle) {
+                break;
+            }
+
+            for (int k = collected - 1; k >= 0; k--) {
+                int u = order[k];
+                color[u] = WHITE;
+                settledCount++;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    double d = dist[u] + weights[i];
+                    if (d < dist[v]) {
+                        dist[v] = d;
+                        parent[v] = u;
+                        // vertices still waiting are scanned later in this pass
+                        if (color[v] != WAITING && !labelled[v]) {
+                            labelled[v] = true;
+                            current.add(v);
+                        }
+                    }
+                }
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        if (negativeCycle) {
+            result.markNegativeCycle();
+        }
+        return result;
+    }
+
+    private static boolean hasNegativeEdge(int u, double[] dist, int[] offsets, int[] targets, double[] weights) {
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            if (dist[u] + weights[i] < dist[targets[i]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,215 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Graph;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Properties of one graph version that decide which shortest path engines are correct and fast:
+ * weight classes and range, acyclicity, strongly connected components and degree stats.
+ * Profiles are computed once per graph version and shared by every caller; any mutation bumps
+ * the version, so the next {@link #of(Graph)} computes a fresh one.
+ */
+public class GraphProfile {
+    private static final Map<Graph, GraphProfile> CACHE = new WeakHashMap<>();
+
+    private final long version;
+    private final int numVertices;
+    private final int numEdges;
+    private final boolean unitWeights;
+    private final boolean zeroOneWeights;
+    private final boolean integerWeights;
+    private final boolean nonNegativeWeights;
+    private final double minWeight;
+    private final double maxWeight;
+    private final boolean acyclic;
+    private final int sccCount;
+    private final int maxOutDegree;
+    private final int maxInDegree;
+
+    // the profile of the current version of graph
+    public static GraphProfile of(Graph graph) {
+        return of(graph, null);
+    }
+
+    // same, reusing the snapshot when it is current
+    public static GraphProfile of(CompactGraph compact) {
+        return of(compact.getGraph(), compact);
+    }
+
+    private static GraphProfile of(Graph graph, CompactGraph compact) {
+        synchronized (CACHE) {
+            GraphProfile profile = CACHE.get(graph);
+            if (profile == null || profile.version != graph.getVersion()) {
+                boolean reusable = compact != null && compact.isCurrent() && compact.hasReverse();
+                profile = new GraphProfile(reusable ? compact : new CompactGraph(graph, true));
+                CACHE.put(graph, profile);
+            }
+            return profile;
+        }
+    }
+
+    private GraphProfile(CompactGraph compact) {
+        version = compact.getGraph().getVersion();
+        numVertices = compact.numVertices();
+        numEdges = compact.numEdges();
+        boolean unit = true;
+        boolean zeroOne = true;
+        boolean integer = true;
+        double min = numEdges == 0 ? 0 : Double.POSITIVE_INFINITY;
+        double max = numEdges == 0 ? 0 : Double.NEGATIVE_INFINITY;
+        for (double w : compact.getWeights()) {
+            unit &= w == 1;
+            zeroOne &= w == 0 || w == 1;
+            integer &= w == Math.rint(w) && Math.abs(w) <= Integer.MAX_VALUE;
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+        unitWeights = unit;
+        zeroOneWeights = zeroOne;
+        integerWeights = integer;
+        nonNegativeWeights = min >= 0;
+        minWeight = min;
+        maxWeight = max;
+
+        int maxOut = 0;
+        int maxIn = 0;
+        boolean selfLoop = false;
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        for (int u = 0; u < numVertices; u++) {
+            maxOut = Math.max(maxOut, compact.outDegree(u));
+            maxIn = Math.max(maxIn, compact.inDegree(u));
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                selfLoop |= targets[i] == u;
+            }
+        }
+        maxOutDegree = maxOut;
+        maxInDegree = maxIn;
+        sccCount = countComponents(offsets, targets);
+        acyclic = sccCount == numVertices && !selfLoop;
+    }
+
+    // iterative Tarjan
+    private static int countComponents(int[] offsets, int[] targets) {
+        int n = offsets.length - 1;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] nextEdge = new int[n];
+        int top = 0;
+        int counter = 0;
+        int components = 0;
+        for (int root = 0; root < n; root++) {
+            if (index[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = ++counter;
+            nextEdge[root] = offsets[root];
+            stack[top++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int u = callStack[depth - 1];
+                if (nextEdge[u] < offsets[u + 1]) {
+                    int v = targets[nextEdge[u]++];
+                    if (index[v] == 0) {
+                        index[v] = low[v] = ++counter;
+                        nextEdge[v] = offsets[v];
+                        stack[top++] = v;
+                        onStack[v] = true;
+                        callStack[depth++] = v;
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], index[v]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int p = callStack[depth - 1];
+                    low[p] = Math.min(low[p], low[u]);
+                }
+                if (low[u] == index[u]) {
+                    int v;
+                    do {
+                        v = stack[--top];
+                        onStack[v] = false;
+                    } while (v != u);
+                    components++;
+                }
+            }
+        }
+        return components;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public int getNumEdges() {
+        return numEdges;
+    }
+
+    // every weight is 1, or there are no edges
+    public boolean hasUnitWeights() {
+        return unitWeights;
+    }
+
+    public boolean hasZeroOneWeights() {
+        return zeroOneWeights;
+    }
+
+    public boolean hasIntegerWeights() {
+        return integerWeights;
+    }
+
+    public boolean hasNonNegativeWeights() {
+        return nonNegativeWeights;
+    }
+
+    // 0 when there are no edges
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    // strongly connected components
+    public int getSccCount() {
+        return sccCount;
+    }
+
+    public int getMaxOutDegree() {
+        return maxOutDegree;
+    }
+
+    public int getMaxInDegree() {
+        return maxInDegree;
+    }
+
+    public double getAverageDegree() {
+        return numVertices == 0 ? 0 : (double) numEdges / numVertices;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphProfile{V=" + numVertices + ", E=" + numEdges + ", weights=[" + minWeight + ", " + maxWeight + "]"
+                + (unitWeights ? " unit" : zeroOneWeights ? " 0/1" : integerWeights ? " integer" : "")
+                + ", acyclic=" + acyclic + ", scc=" + sccCount + ", maxOut=" + maxOutDegree + ", maxIn=" + maxInDegree + "}";
+    }
+}
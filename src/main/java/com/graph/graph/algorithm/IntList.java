@@ -0,0 +1,52 @@
+package com.graph.graph.algorithm;
+
+import java.util.Arrays;
+
+// growable list of ints, used for frontiers and buckets without boxing
+class IntList {
+    private int[] data;
+    private int size = 0;
+
+    IntList() {
+        this(8);
+    }
+
+    IntList(int capacity) {
+        data = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+        data[size++] = value;
+    }
+
+    void addAll(IntList other) {
+        if (size + other.size > data.length) {
+            data = Arrays.copyOf(data, Math.max(size + other.size, data.length * 2));
+        }
+        System.arraycopy(other.data, 0, data, size, other.size);
+        size += other.size;
+    }
+
+    int get(int index) {
+        return data[index];
+    }
+
+    int removeLast() {
+        return data[--size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
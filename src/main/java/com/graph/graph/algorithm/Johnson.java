@@ -0,0 +1,129 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Johnson's all pairs shortest paths. Bellman-Ford from a virtual source gives vertex
+ * potentials that make every weight non-negative, then one Dijkstra per source runs on the
+ * reduced weights, split across a ForkJoinPool. The potentials are cached per graph version,
+ * so single source queries after the first skip Bellman-Ford. When the graph has a negative
+ * cycle, single source queries run Bellman-Ford from the source and only all pairs fail.
+ */
+public class Johnson extends Algorithm {
+    private static final int SOURCES_PER_TASK = 8;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private DistanceMatrix matrix;
+
+    public Johnson() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "add s with edges (s, v, 0) to every v, h = BellmanFord(s)\n"
+                + "if a -∞ cycle is found, answer single source queries with Bellman-Ford");
+        pseudoStep.put(1, "w'(u,v) = w(u,v) + h(u) - h(v) // non-negative");
+        pseudoStep.put(2, "for each source u: Dijkstra(u) on w', d(u,v) = d'(u,v) - h(u) + h(v)");
+        pseudoStep.put(3, "End of Johnson");
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasNegativeCycle()
+                ? "Graph contains negative weight cycle"
+                : "The highlighted edges are the SSSP spanning tree from source vertex " + startVertex.getId()
+                + ",\nfound by Dijkstra on the reweighted graph.";
+        addResultStep(3, description);
+    }
+
+    // single source query on the cached potentials
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        Potentials potentials = getPotentials();
+        if (potentials.hasNegativeCycle()) {
+            return solveWithoutPotentials(compact, source);
+        }
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        settledCount = potentials.shortestPaths(source, target, dist, parent, new IndexedDaryHeap(n));
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+
+    // distances between all pairs, kept until the graph changes
+    public DistanceMatrix computeAll() {
+        CompactGraph compact = getCompactGraph();
+        if (matrix != null && matrix.getGraph() == compact) {
+            return matrix;
+        }
+        Potentials potentials = getPotentials();
+        if (potentials.hasNegativeCycle()) {
+            throw new IllegalStateException("Graph contains negative weight cycle");
+        }
+        int n = compact.numVertices();
+        double[] dist = DistanceMatrix.allocate(n);
+        int[] pred = DistanceMatrix.allocatePredecessors(n);
+        pool.invoke(new AllSourcesTask(potentials, dist, pred, 0, n));
+        matrix = new DistanceMatrix(compact, dist, pred);
+        return matrix;
+    }
+
+    // one Dijkstra per source in [from, to), its distances and parents become row source of the matrices
+    private static class AllSourcesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Potentials potentials;
+        private final double[] matrix;
+        private final int[] pred;
+        private final int from;
+        private final int to;
+
+        AllSourcesTask(Potentials potentials, double[] matrix, int[] pred, int from, int to) {
+            this.potentials = potentials;
+            this.matrix = matrix;
+            this.pred = pred;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new AllSourcesTask(potentials, matrix, pred, from, mid),
+                        new AllSourcesTask(potentials, matrix, pred, mid, to));
+                return;
+            }
+            int n = potentials.getGraph().numVertices();
+            IndexedDaryHeap heap = new IndexedDaryHeap(n);
+            double[] dist = new double[n];
+            int[] parent = new int[n];
+            for (int source = from; source < to; source++) {
+                Arrays.fill(dist, Double.POSITIVE_INFINITY);
+                Arrays.fill(parent, ShortestPathResult.NO_PARENT);
+                potentials.shortestPaths(source, -1, dist, parent, heap);
+                System.arraycopy(dist, 0, matrix, source * n, n);
+                System.arraycopy(parent, 0, pred, source * n, n);
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Landmark distances for ALT lower bounds. For every landmark L the distances d(L, v) and
+ * d(v, L) are kept as floats, vertex major so that all bounds of one vertex are contiguous.
+ * By the triangle inequality d(v, t) >= d(L, t) - d(L, v) and d(v, t) >= d(v, L) - d(t, L).
+ * The distances belong to one snapshot and can be saved to a file and loaded back for it.
+ */
+public class Landmarks {
+    public enum Selection {
+        FARTHEST, // the vertex farthest from the landmarks chosen so far
+        AVOID     // a leaf of the shortest path tree region the current bounds cover worst
+    }
+
+    private static final int FILE_MAGIC = 0x414c5432; // "ALT2"
+    // relative rounding error of a stored float is at most 2^-24, with some margin
+    private static final double FLOAT_ERROR = 1.2e-7;
+
+    private final CompactGraph graph;
+    private final int[] landmarks;
+    private final Selection selection; // null when the landmarks were given
+    private final float[] from; // [v * k + i] = d(landmark i, v)
+    private final float[] to;   // [v * k + i] = d(v, landmark i)
+
+    private Landmarks(CompactGraph graph, int[] landmarks, Selection selection) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.selection = selection;
+        from = new float[graph.numVertices() * landmarks.length];
+        to = new float[graph.numVertices() * landmarks.length];
+    }
+
+    // picks count landmarks; the searches of one landmark run in parallel with the next selection step
+    public static Landmarks compute(CompactGraph graph, int count, Selection selection, ForkJoinPool pool) {
+        requireSnapshot(graph);
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one landmark is needed");
+        }
+        Landmarks result = new Landmarks(graph, new int[Math.min(count, graph.numVertices())], selection);
+        if (result.landmarks.length == 0) {
+            return result;
+        }
+        if (selection == Selection.AVOID) {
+            result.selectAvoid(pool);
+        } else {
+            result.selectFarthest(pool);
+        }
+        return result;
+    }
+
+    // given landmarks, all forward and backward searches run in parallel
+    public static Landmarks compute(CompactGraph graph, int[] landmarkIds, ForkJoinPool pool) {
+        requireSnapshot(graph);
+        Landmarks result = new Landmarks(graph, landmarkIds.clone(), null);
+        List<ForkJoinTask<double[]>> tasks = new ArrayList<>();
+        for (int i = 0; i < landmarkIds.length; i++) {
+            int landmark = i;
+            tasks.add(pool.submit(() -> result.search(landmark, false)));
+            tasks.add(pool.submit(() -> result.search(landmark, true)));
+        }
+        for (ForkJoinTask<double[]> task : tasks) {
+            task.join();
+        }
+        return result;
+    }
+
+    private static void requireSnapshot(CompactGraph graph) {
+        if (!graph.hasReverse()) {
+            throw new IllegalArgumentException("Landmarks need a snapshot with reverse edges");
+        }
+        Algorithm.requireNonNegativeWeights(graph, "ALT");
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public int count() {
+        return landmarks.length;
+    }
+
+    public int[] getLandmarkIds() {
+        return landmarks.clone();
+    }
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    // lower bound on d(v, t), infinity when the bounds show that t cannot be reached from v
+    public double lowerBound(int v, int t) {
+        return lowerBound(v, t, landmarks.length);
+    }
+
+    private double lowerBound(int v, int t, int limit) {
+        int k = landmarks.length;
+        int bv = v * k;
+        int bt = t * k;
+        double best = 0;
+        for (int i = 0; i < limit; i++) {
+            double lv = from[bv + i];
+            double lt = from[bt + i];
+            if (lt == Double.POSITIVE_INFINITY) {
+                if (lv != Double.POSITIVE_INFINITY) {
+                    return Double.POSITIVE_INFINITY; // L reaches v but not t
+                }
+            } else if (lv != Double.POSITIVE_INFINITY) {
+                best = Math.max(best, lt - lv - (lt + lv) * FLOAT_ERROR);
+            }
+            double vl = to[bv + i];
+            double tl = to[bt + i];
+            if (tl != Double.POSITIVE_INFINITY) {
+                if (vl == Double.POSITIVE_INFINITY) {
+                    return Double.POSITIVE_INFINITY; // t reaches L but v does not
+                }
+                best = Math.max(best, vl - tl - (vl + tl) * FLOAT_ERROR);
+            }
+        }
+        return best;
+    }
+
+    // Dijkstra from landmark i, over the incoming edges for the distances towards it
+    private double[] search(int i, boolean backward) {
+        int n = graph.numVertices();
+        double[] dist = Algorithm.infiniteDistances(n);
+        if (backward) {
+            Dijkstra.shortestPaths(graph.getReverseOffsets(), graph.getReverseSources(), graph.getReverseWeights(),
+                    landmarks[i], -1, dist, Algorithm.noParents(n), new IndexedDaryHeap(n));
+        } else {
+            Dijkstra.shortestPaths(graph.getOffsets(), graph.getTargets(), graph.getWeights(),
+                    landmarks[i], -1, dist, Algorithm.noParents(n), new IndexedDaryHeap(n));
+        }
+        float[] column = backward ? to : from;
+        int k = landmarks.length;
+        for (int v = 0; v < n; v++) {
+            column[v * k + i] = (float) dist[v];
+        }
+        return dist;
+    }
+
+    // first landmark is the vertex farthest from vertex 0, then the one farthest from all landmarks;
+    // unreached vertices count as farthest so every component gets a landmark
+    private void selectFarthest(ForkJoinPool pool) {
+        int n = graph.numVertices();
+        boolean[] chosen = new boolean[n];
+        double[] nearest = Algorithm.infiniteDistances(n);
+        double[] start = Algorithm.infiniteDistances(n);
+        Dijkstra.shortestPaths(graph.getOffsets(), graph.getTargets(), graph.getWeights(),
+                0, -1, start, Algorithm.noParents(n), new IndexedDaryHeap(n));
+        List<ForkJoinTask<double[]>> backward = new ArrayList<>();
+        for (int i = 0; i < landmarks.length; i++) {
+            int landmark = i;
+            landmarks[i] = farthest(i == 0 ? start : nearest, chosen);
+            chosen[landmarks[i]] = true;
+            // only the forward distances steer the selection
+            backward.add(pool.submit(() -> search(landmark, true)));
+            double[] dist = search(i, false);
+            for (int v = 0; v < n; v++) {
+                nearest[v] = Math.min(nearest[v], dist[v]);
+            }
+        }
+        for (ForkJoinTask<double[]> task : backward) {
+            task.join();
+        }
+    }
+
+    private static int farthest(double[] dist, boolean[] chosen) {
+        int best = -1;
+        for (int v = 0; v < dist.length; v++) {
+            if (!chosen[v] && (best < 0 || dist[v] > dist[best])) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    // Goldberg and Werneck: grow a shortest path tree from a random root, weigh every vertex by
+    // d(r, v) minus its current lower bound, drop subtrees that hold a landmark, and walk down
+    // the heaviest subtrees to a leaf
+    private void selectAvoid(ForkJoinPool pool) {
+        int n = graph.numVertices();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        Random random = new Random(n); // same graph, same landmarks
+        boolean[] chosen = new boolean[n];
+        int[] childOffsets = new int[n + 1];
+        int[] children = new int[n];
+        int[] order = new int[n];
+        double[] size = new double[n];
+        boolean[] covered = new boolean[n];
+
+        for (int i = 0; i < landmarks.length; i++) {
+            int root = random.nextInt(n);
+            double[] dist = Algorithm.infiniteDistances(n);
+            int[] parent = Algorithm.noParents(n);
+            Dijkstra.shortestPaths(offsets, targets, weights, root, -1, dist, parent, new IndexedDaryHeap(n));
+
+            // children lists of the tree, then a top down order of it
+            Arrays.fill(childOffsets, 0);
+            for (int v = 0; v < n; v++) {
+                if (parent[v] != ShortestPathResult.NO_PARENT) {
+                    childOffsets[parent[v] + 1]++;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                childOffsets[v + 1] += childOffsets[v];
+            }
+            int[] fill = childOffsets.clone();
+            for (int v = 0; v < n; v++) {
+                if (parent[v] != ShortestPathResult.NO_PARENT) {
+                    children[fill[parent[v]]++] = v;
+                }
+            }
+            int length = 0;
+            order[length++] = root;
+            for (int head = 0; head < length; head++) {
+                int u = order[head];
+                for (int c = childOffsets[u]; c < childOffsets[u + 1]; c++) {
+                    order[length++] = children[c];
+                }
+            }
+
+            for (int h = 0; h < length; h++) {
+                size[order[h]] = 0;
+                covered[order[h]] = chosen[order[h]];
+            }
+            for (int h = length - 1; h >= 0; h--) {
+                int u = order[h];
+                if (covered[u]) {
+                    size[u] = 0;
+                } else {
+                    size[u] += dist[u] - lowerBound(root, u, i);
+                }
+                int p = parent[u];
+                if (p != ShortestPathResult.NO_PARENT) {
+                    if (covered[u]) {
+                        covered[p] = true;
+                    } else {
+                        size[p] += size[u];
+                    }
+                }
+            }
+
+            int w = root;
+            while (true) {
+                int best = -1;
+                for (int c = childOffsets[w]; c < childOffsets[w + 1]; c++) {
+                    if (size[children[c]] > 0 && (best < 0 || size[children[c]] > size[best])) {
+                        best = children[c];
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                w = best;
+            }
+            while (chosen[w]) {
+                w = random.nextInt(n); // the tree is already covered
+            }
+            landmarks[i] = w;
+            chosen[w] = true;
+            // the next tree is weighed with this landmark, so both searches finish first
+            int landmark = i;
+            ForkJoinTask<double[]> backward = pool.submit(() -> search(landmark, true));
+            search(i, false);
+            backward.join();
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(graph.numVertices());
+            out.writeInt(graph.numEdges());
+            out.writeLong(graph.fingerprint());
+            out.writeInt(landmarks.length);
+            out.writeInt(selection == null ? -1 : selection.ordinal());
+            for (int landmark : landmarks) {
+                out.writeInt(landmark);
+            }
+            for (float d : from) {
+                out.writeFloat(d);
+            }
+            for (float d : to) {
+                out.writeFloat(d);
+            }
+        }
+    }
+
+    // fails if the file was written for a different graph, or not by compute(graph, count, selection)
+    public static Landmarks load(Path file, CompactGraph graph, int count, Selection selection) throws IOException {
+        requireSnapshot(graph);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException(file + " is not a landmark file");
+            }
+            if (in.readInt() != graph.numVertices() || in.readInt() != graph.numEdges()
+                    || in.readLong() != graph.fingerprint()) {
+                throw new IOException("Landmark file " + file + " was made for a different graph");
+            }
+            int[] ids = new int[in.readInt()];
+            int stored = in.readInt();
+            if (ids.length != Math.min(count, graph.numVertices()) || stored != selection.ordinal()) {
+                throw new IOException("Landmark file " + file + " was not made with " + count
+                        + " landmarks chosen by " + selection);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = in.readInt();
+                if (ids[i] < 0 || ids[i] >= graph.numVertices()) {
+                    throw new IOException("Landmark file " + file + " is corrupt");
+                }
+            }
+            Landmarks result = new Landmarks(graph, ids, selection);
+            for (int j = 0; j < result.from.length; j++) {
+                result.from[j] = in.readFloat();
+            }
+            for (int j = 0; j < result.to.length; j++) {
+                result.to[j] = in.readFloat();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bit-parallel multi-source BFS (MS-BFS) for hop distances. A group of 64 * k sources runs as
+ * one traversal: every vertex holds k words of bits, bit i meaning "reached by source i", so one
+ * scan of an edge advances all the BFSs that are at its tail in the same level. Groups are
+ * independent and run on a ForkJoinPool. Edge weights are ignored.
+ */
+public class MultiSourceBFS {
+    public static final int DEFAULT_GROUP_SIZE = 64;
+    public static final int UNREACHED = -1;
+
+    // receives the hop distances of one source, UNREACHED where it does not get
+    public interface HopConsumer {
+        void accept(Vertex source, int[] hops);
+    }
+
+    private final Graph graph;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int groupSize = DEFAULT_GROUP_SIZE;
+    private CompactGraph compactGraph;
+
+    public MultiSourceBFS(Graph graph) {
+        this.graph = graph;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    // sources per traversal, a multiple of 64
+    public void setGroupSize(int groupSize) {
+        if (groupSize < 64 || groupSize % 64 != 0) {
+            throw new IllegalArgumentException("Group size must be a positive multiple of 64, got " + groupSize);
+        }
+        this.groupSize = groupSize;
+    }
+
+    // the snapshot the hop arrays are indexed by
+    public synchronized CompactGraph getCompactGraph() {
+        if (compactGraph == null || !compactGraph.isCurrent()) {
+            compactGraph = new CompactGraph(graph);
+        }
+        return compactGraph;
+    }
+
+    // one row of hop distances per source, in the order of sources
+    public int[][] solveAll(List<Vertex> sources) {
+        int[][] hops = new int[sources.size()][];
+        run(sources, (index, row) -> hops[index] = row);
+        return hops;
+    }
+
+    // streams the rows of each group as soon as it finishes; called from the worker threads, concurrently
+    public void solveAll(List<Vertex> sources, HopConsumer consumer) {
+        run(sources, (index, row) -> consumer.accept(sources.get(index), row));
+    }
+
+    private interface Sink {
+        void accept(int index, int[] hops);
+    }
+
+    private void run(List<Vertex> sources, Sink sink) {
+        CompactGraph compact = getCompactGraph();
+        int[] ids = new int[sources.size()];
+        for (int k = 0; k < ids.length; k++) {
+            ids[k] = compact.idOf(sources.get(k));
+            if (ids[k] < 0) {
+                throw new IllegalArgumentException("Source vertex " + sources.get(k).getId() + " is not in the graph");
+            }
+        }
+        int groups = (ids.length + groupSize - 1) / groupSize;
+        pool.invoke(new GroupTask(compact, ids, groupSize, sink, 0, groups));
+    }
+
+    // groups [from, to) of groupSize sources each
+    private static class GroupTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CompactGraph compact;
+        private final int[] ids;
+        private final int groupSize;
+        private final Sink sink;
+        private final int from;
+        private final int to;
+
+        GroupTask(CompactGraph compact, int[] ids, int groupSize, Sink sink, int from, int to) {
+            this.compact = compact;
+            this.ids = ids;
+            this.groupSize = groupSize;
+            this.sink = sink;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GroupTask(compact, ids, groupSize, sink, from, mid),
+                        new GroupTask(compact, ids, groupSize, sink, mid, to));
+                return;
+            }
+            int first = from * groupSize;
+            int count = Math.min(groupSize, ids.length - first);
+            int[][] hops = traverse(compact, ids, first, count);
+            for (int i = 0; i < count; i++) {
+                sink.accept(first + i, hops[i]);
+            }
+        }
+    }
+
+    // one traversal for sources ids[first .. first + count), bit i of word block v is source first + i
+    private static int[][] traverse(CompactGraph compact, int[] ids, int first, int count) {
+        int n = compact.numVertices();
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        int k = (count + 63) >>> 6;
+        long[] seen = new long[n * k];
+        long[] visit = new long[n * k];
+        long[] next = new long[n * k];
+        int[][] hops = new int[count][n];
+        for (int i = 0; i < count; i++) {
+            int s = ids[first + i];
+            Arrays.fill(hops[i], UNREACHED);
+            hops[i][s] = 0;
+            seen[s * k + (i >>> 6)] |= 1L << i;
+            visit[s * k + (i >>> 6)] |= 1L << i;
+        }
+
+        boolean active = true;
+        for (int level = 1; active; level++) {
+            // push the bits of every active vertex along its out edges
+            for (int u = 0; u < n; u++) {
+                int base = u * k;
+                boolean any = false;
+                for (int j = 0; j < k; j++) {
+                    any |= visit[base + j] != 0;
+                }
+                if (!any) {
+                    continue;
+                }
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int vb = targets[e] * k;
+                    for (int j = 0; j < k; j++) {
+                        next[vb + j] |= visit[base + j];
+                    }
+                }
+            }
+            // keep the bits that reach a vertex for the first time
+            active = false;
+            for (int v = 0; v < n; v++) {
+                int base = v * k;
+                for (int j = 0; j < k; j++) {
+                    long fresh = next[base + j] & ~seen[base + j];
+                    next[base + j] = 0;
+                    visit[base + j] = fresh;
+                    if (fresh == 0) {
+                        continue;
+                    }
+                    active = true;
+                    seen[base + j] |= fresh;
+                    while (fresh != 0) {
+                        hops[(j << 6) + Long.numberOfTrailingZeros(fresh)][v] = level;
+                        fresh &= fresh - 1;
+                    }
+                }
+            }
+        }
+        return hops;
+    }
+}
@@ -0,0 +1,143 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Vertex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Multi-source Dijkstra: every source enters the queue at once with its own initial offset
+ * (0 by default), as if a super source had an edge of that weight to each. One pass labels
+ * every vertex with the distance to its nearest source and which source that is, a Voronoi
+ * partition of the graph. The parents form one tree per source.
+ */
+public class NearestFacility extends Algorithm {
+    private final Map<Vertex, Double> sources = new LinkedHashMap<>();
+    private int[] nearest; // null until the first solve
+
+    public NearestFacility() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "for each source s: d[s] = offset(s), nearest[s] = s, PQ.push(d[s], s)");
+        pseudoStep.put(1, "while PQ is not empty\n"
+                + "    u = PQ.pop()\n"
+                + "    for each edge (u, v): if relax(u, v, w(u,v)), nearest[v] = nearest[u], PQ.push(d[v], v)");
+        pseudoStep.put(2, "End of Nearest Facility");
+    }
+
+    public void addSource(Vertex source) {
+        addSource(source, 0);
+    }
+
+    // a source reached only after paying offset, e.g. a depot's current load
+    public void addSource(Vertex source, double offset) {
+        sources.merge(source, offset, Math::min);
+    }
+
+    public void clearSources() {
+        sources.clear();
+    }
+
+    public Map<Vertex, Double> getSources() {
+        return Collections.unmodifiableMap(sources);
+    }
+
+    // nearest source of every vertex by dense id, -1 when no source reaches it
+    public int[] getNearestSourceIds() {
+        requireSolved();
+        return nearest;
+    }
+
+    // null when no source reaches the vertex
+    public Vertex getNearestSource(Vertex vertex) {
+        requireSolved();
+        CompactGraph compact = result.getGraph();
+        int v = compact.idOf(vertex);
+        return v < 0 || nearest[v] < 0 ? null : compact.vertex(nearest[v]);
+    }
+
+    private void requireSolved() {
+        if (nearest == null) {
+            throw new IllegalStateException("solve() has not been run");
+        }
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasNegativeCycle()
+                ? "Graph contains negative weight cycle"
+                : "The highlighted edges are the shortest path trees of the " + Math.max(1, sources.size())
+                + " sources,\nevery vertex hangs below its nearest source.";
+        addResultStep(2, description);
+    }
+
+    // without sources the start vertex is the only one
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        Map<Vertex, Double> seeds = sources;
+        if (seeds.isEmpty()) {
+            startVertexId(compact);
+            seeds = Collections.singletonMap(startVertex, 0.0);
+        }
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        int[] owner = new int[n];
+        Arrays.fill(owner, -1);
+        Potentials potentials = getPotentials();
+        if (potentials.hasNegativeCycle()) {
+            nearest = owner;
+            result = new ShortestPathResult(compact, -1, dist, parent);
+            result.markNegativeCycle();
+            return result;
+        }
+
+        // reduced distances: min over s of offset(s) + d(s, v) is min over s of
+        // (offset(s) - h(s)) + d'(s, v), plus h(v)
+        IndexedDaryHeap queue = new IndexedDaryHeap(n);
+        for (Map.Entry<Vertex, Double> seed : seeds.entrySet()) {
+            int s = compact.idOf(seed.getKey());
+            if (s < 0) {
+                throw new IllegalStateException("Source vertex " + seed.getKey().getId() + " is not in the graph");
+            }
+            dist[s] = seed.getValue() - potentials.potential(s);
+            queue.insertOrDecrease(s, dist[s]);
+        }
+        settledCount = Dijkstra.settleQueued(compact.getOffsets(), compact.getTargets(),
+                potentials.getReducedWeights(), -1, dist, parent, queue);
+        for (int v = 0; v < n; v++) {
+            if (dist[v] != Double.POSITIVE_INFINITY) {
+                dist[v] += potentials.potential(v);
+                if (parent[v] == ShortestPathResult.NO_PARENT) {
+                    owner[v] = v; // a source not beaten by another one
+                }
+            }
+        }
+
+        // the source of a vertex is the root of its tree, found once per vertex
+        int[] path = new int[n];
+        for (int v = 0; v < n; v++) {
+            int length = 0;
+            int x = v;
+            while (owner[x] < 0 && parent[x] != ShortestPathResult.NO_PARENT) {
+                path[length++] = x;
+                x = parent[x];
+            }
+            for (int k = 0; k < length; k++) {
+                owner[path[k]] = owner[x];
+            }
+        }
+        nearest = owner;
+        result = new ShortestPathResult(compact, -1, dist, parent);
+        return result;
+    }
+}
@@ -0,0 +1,173 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * FIFO Bellman-Ford with Tarjan's subtree disassembly, used to find negative cycles early.
+ * The shortest path tree is kept as a preorder thread with depths. When d[v] drops, the
+ * subtree of v is detached first: its labels came through v's old distance, so scanning them
+ * before v is rescanned is wasted work. If the vertex that improved v is inside that subtree,
+ * the tree path from v to it plus the improving edge is a negative cycle, reported at once.
+ * Without a start vertex every vertex starts at distance 0, which finds a negative cycle
+ * anywhere in the graph.
+ */
+public class NegativeCycleDetector extends Algorithm {
+    private List<Edge> cycle = Collections.emptyList();
+
+    public NegativeCycleDetector() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "initSSSP, Q = {sourceVertex} or every vertex with d = 0");
+        pseudoStep.put(1, "while Q is not empty\n"
+                + "    u = Q.pop()\n"
+                + "    for each edge (u, v) with d[u] + w(u,v) < d[v]\n"
+                + "        remove the subtree of v, -∞ cycle found if it holds u\n"
+                + "        relax(u, v, w(u,v)), make v a child of u, Q.push(v)");
+        pseudoStep.put(2, "End of Negative Cycle Detection");
+    }
+
+    // edges of the cycle found by the last solve in path order, empty when there was none
+    public List<Edge> getNegativeCycle() {
+        return cycle;
+    }
+
+    public List<Edge> findNegativeCycle() {
+        solve();
+        return cycle;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description;
+        if (cycle.isEmpty()) {
+            description = "No negative weight cycle is reachable.";
+        } else {
+            StringBuilder sb = new StringBuilder(cycle.get(0).getSource().getId());
+            double weight = 0;
+            for (Edge edge : cycle) {
+                sb.append(" -> ").append(edge.getDestination().getId());
+                weight += edge.getWeight();
+            }
+            description = "Graph contains negative weight cycle " + sb + " of weight " + weight;
+        }
+        addResultStep(2, description);
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertex == null ? -1 : startVertexId(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        int[] parentSlot = new int[n];
+
+        // preorder thread of the tree under a root sentinel n, circular through the root
+        int root = n;
+        int[] next = new int[n + 1];
+        int[] prev = new int[n + 1];
+        int[] depth = new int[n + 1];
+        boolean[] inTree = new boolean[n + 1];
+        next[root] = root;
+        prev[root] = root;
+        inTree[root] = true;
+
+        int[] queue = new int[Math.max(n, 1)];
+        boolean[] queued = new boolean[n];
+        int head = 0;
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (source < 0 || v == source) {
+                dist[v] = 0;
+                depth[v] = 1;
+                inTree[v] = true;
+                next[v] = root;
+                prev[v] = prev[root];
+                next[prev[root]] = v;
+                prev[root] = v;
+                queue[size++] = v;
+                queued[v] = true;
+            }
+        }
+
+        cycle = Collections.emptyList();
+        settledCount = 0;
+        scan:
+        while (size > 0) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            queued[u] = false;
+            if (!inTree[u]) {
+                continue; // detached, its label waits for an improvement through its new parent
+            }
+            settledCount++;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double d = dist[u] + weights[i];
+                if (d >= dist[v]) {
+                    continue;
+                }
+                if (v == u) {
+                    cycle = extractCycle(compact, u, i, v, parent, parentSlot);
+                    break scan;
+                }
+                if (inTree[v]) {
+                    int x = next[v];
+                    while (depth[x] > depth[v]) {
+                        if (x == u) {
+                            cycle = extractCycle(compact, u, i, v, parent, parentSlot);
+                            break scan;
+                        }
+                        inTree[x] = false;
+                        x = next[x];
+                    }
+                    next[prev[v]] = x;
+                    prev[x] = prev[v];
+                }
+                dist[v] = d;
+                parent[v] = u;
+                parentSlot[v] = i;
+                depth[v] = depth[u] + 1;
+                inTree[v] = true;
+                next[v] = next[u];
+                prev[next[u]] = v;
+                next[u] = v;
+                prev[v] = u;
+                if (!queued[v]) {
+                    queued[v] = true;
+                    queue[(head + size) % queue.length] = v;
+                    size++;
+                }
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        if (!cycle.isEmpty()) {
+            result.markNegativeCycle();
+        }
+        return result;
+    }
+
+    // tree path v -> ... -> u followed by the edge u -> v at slot
+    private static List<Edge> extractCycle(CompactGraph compact, int u, int slot, int v, int[] parent, int[] parentSlot) {
+        List<Edge> edges = new ArrayList<>();
+        edges.add(compact.edge(u, slot));
+        for (int x = u; x != v; x = parent[x]) {
+            edges.add(compact.edge(parent[x], parentSlot[x]));
+        }
+        Collections.reverse(edges);
+        return edges;
+    }
+}
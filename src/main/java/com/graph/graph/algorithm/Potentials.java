@@ -0,0 +1,96 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.PriorityQueueStrategy;
+import com.graph.graph.graphcore.CompactGraph;
+
+/**
+ * Johnson vertex potentials of one graph snapshot. h(v) is the distance to v from a virtual
+ * source joined to every vertex by a 0 weight edge, found by Bellman-Ford. The reduced weights
+ * w(u,v) + h(u) - h(v) are non-negative, so Dijkstra runs on them, and a reduced distance maps
+ * back as d(s,t) = d'(s,t) - h(s) + h(t). Without negative weights h is all 0.
+ */
+final class Potentials {
+    private final CompactGraph graph;
+    private final double[] h;              // null when the graph has a negative cycle
+    private final double[] reducedWeights; // the graph's own weights when h is all 0
+    private final boolean zero;
+
+    private Potentials(CompactGraph graph, double[] h, double[] reducedWeights, boolean zero) {
+        this.graph = graph;
+        this.h = h;
+        this.reducedWeights = reducedWeights;
+        this.zero = zero;
+    }
+
+    static Potentials compute(CompactGraph graph) {
+        int n = graph.numVertices();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        boolean negative = false;
+        for (double w : weights) {
+            if (w < 0) {
+                negative = true;
+                break;
+            }
+        }
+        if (!negative) {
+            return new Potentials(graph, new double[n], weights, true);
+        }
+
+        // the virtual source has relaxed its 0 edges already, the n + 1 vertices need n passes
+        double[] h = new double[n];
+        if (BellmanFord.shortestPaths(offsets, targets, weights, h, new int[n], n)) {
+            return new Potentials(graph, null, null, false);
+        }
+        double[] reduced = new double[weights.length];
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                // rounding can leave a tight edge a hair below 0
+                reduced[i] = Math.max(0, weights[i] + h[u] - h[targets[i]]);
+            }
+        }
+        return new Potentials(graph, h, reduced, false);
+    }
+
+    CompactGraph getGraph() {
+        return graph;
+    }
+
+    boolean hasNegativeCycle() {
+        return h == null;
+    }
+
+    // true when the graph has no negative weight, the reduced weights are the graph's own
+    boolean isZero() {
+        return zero;
+    }
+
+    double[] getReducedWeights() {
+        return reducedWeights;
+    }
+
+    double potential(int v) {
+        return h[v];
+    }
+
+    // Dijkstra on the reduced weights, dist is mapped back to the real weights; returns the settled count
+    int shortestPaths(int source, int target, double[] dist, int[] parent, PriorityQueueStrategy queue) {
+        return shortestPaths(source, target, dist, parent, queue, new boolean[dist.length]);
+    }
+
+    // same with a reusable settled buffer, see Dijkstra.shortestPaths
+    int shortestPaths(int source, int target, double[] dist, int[] parent, PriorityQueueStrategy queue,
+                      boolean[] settledBuffer) {
+        int settled = Dijkstra.shortestPaths(graph.getOffsets(), graph.getTargets(), reducedWeights,
+                source, target, dist, parent, queue, settledBuffer);
+        if (!zero) {
+            for (int v = 0; v < dist.length; v++) {
+                if (dist[v] != Double.POSITIVE_INFINITY) {
+                    dist[v] += h[v] - h[source];
+                }
+            }
+        }
+        return settled;
+    }
+}
@@ -0,0 +1,131 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+
+/**
+ * Queue based Bellman-Ford (shortest path faster algorithm). Only the out edges of vertices
+ * whose distance dropped are relaxed again, so on graphs with few negative edges it scans
+ * little more than Dijkstra would. Two optional queue disciplines:
+ * Small Label First puts a vertex at the front when its distance is below the front's,
+ * Large Label Last moves front vertices above the queue average to the back before scanning.
+ * A negative cycle is reported once some shortest path estimate uses |V| edges.
+ */
+public class SPFA extends Algorithm {
+    private boolean smallLabelFirst = false;
+    private boolean largeLabelLast = false;
+
+    public SPFA() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "initSSSP, Q = {sourceVertex}");
+        pseudoStep.put(1, "while Q is not empty\n"
+                + "    u = Q.pop()\n"
+                + "    for each edge (u, v): if relax(u, v, w(u,v)) and v not in Q, Q.push(v)\n"
+                + "    if the path to v has |V| edges, -∞ cycle found");
+        pseudoStep.put(2, "End of SPFA");
+    }
+
+    public boolean isSmallLabelFirst() {
+        return smallLabelFirst;
+    }
+
+    public void setSmallLabelFirst(boolean smallLabelFirst) {
+        this.smallLabelFirst = smallLabelFirst;
+    }
+
+    public boolean isLargeLabelLast() {
+        return largeLabelLast;
+    }
+
+    public void setLargeLabelLast(boolean largeLabelLast) {
+        this.largeLabelLast = largeLabelLast;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        String description = result.hasNegativeCycle()
+                ? "Graph contains negative weight cycle"
+                : "The highlighted edges are the SSSP spanning tree from source vertex " + startVertex.getId() + ".";
+        addResultStep(2, description + "\n" + settledCount + " vertex scans.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+        int[] edges = new int[n]; // edges on the current path to v
+        boolean[] queued = new boolean[n];
+
+        // circular deque, a vertex is queued at most once at a time
+        int[] queue = new int[n];
+        int head = 0;
+        int size = 0;
+        double queuedSum = 0; // sum of the queued distances, for Large Label Last
+        boolean negativeCycle = false;
+
+        dist[source] = 0;
+        queue[0] = source;
+        queued[source] = true;
+        size = 1;
+        settledCount = 0;
+        while (size > 0 && !negativeCycle) {
+            if (largeLabelLast) {
+                double average = queuedSum / size;
+                for (int k = 0; k < size && dist[queue[head]] > average; k++) {
+                    queue[(head + size) % n] = queue[head];
+                    head = (head + 1) % n;
+                }
+            }
+            int u = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[u] = false;
+            queuedSum = size == 0 ? 0 : queuedSum - dist[u];
+            settledCount++;
+
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double d = dist[u] + weights[i];
+                if (d >= dist[v]) {
+                    continue;
+                }
+                if (queued[v]) {
+                    queuedSum += d - dist[v];
+                }
+                dist[v] = d;
+                parent[v] = u;
+                edges[v] = edges[u] + 1;
+                if (edges[v] >= n) {
+                    negativeCycle = true; // a path with |V| edges repeats a vertex on a negative cycle
+                    break;
+                }
+                if (!queued[v]) {
+                    queued[v] = true;
+                    queuedSum += d;
+                    if (smallLabelFirst && size > 0 && d < dist[queue[head]]) {
+                        head = (head + n - 1) % n;
+                        queue[head] = v;
+                    } else {
+                        queue[(head + size) % n] = v;
+                    }
+                    size++;
+                }
+            }
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        if (negativeCycle) {
+            result.markNegativeCycle();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,217 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Vertex;
+
+import java.util.*;
+
+/**
+ * Distances and shortest path tree of a single-source run, stored as primitive arrays
+ * indexed by the dense vertex ids of a {@link CompactGraph}.
+ * Unreached vertices have distance {@link Double#POSITIVE_INFINITY} and parent -1.
+ */
+public class ShortestPathResult {
+    public static final int NO_PARENT = -1;
+
+    private final CompactGraph graph;
+    private final int source;
+    private final double[] dist;
+    private final int[] parent;
+    private boolean negativeCycle = false;
+
+    public ShortestPathResult(CompactGraph graph, int source, double[] dist, int[] parent) {
+        this.graph = graph;
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    // builds a result from the map based state of a traced run
+    public static ShortestPathResult fromMaps(CompactGraph graph, Vertex source,
+                                              Map<Vertex, Double> distance, Map<Vertex, Vertex> parent) {
+        int n = graph.numVertices();
+        double[] dist = new double[n];
+        int[] par = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(par, NO_PARENT);
+        for (Map.Entry<Vertex, Double> entry : distance.entrySet()) {
+            int id = graph.idOf(entry.getKey());
+            Double d = entry.getValue();
+            // traced runs use Double.MAX_VALUE as infinity
+            if (id >= 0 && d != null && d < Double.MAX_VALUE) {
+                dist[id] = d;
+            }
+        }
+        for (Map.Entry<Vertex, Vertex> entry : parent.entrySet()) {
+            int id = graph.idOf(entry.getKey());
+            if (id >= 0 && entry.getValue() != null && dist[id] != Double.POSITIVE_INFINITY) {
+                par[id] = graph.idOf(entry.getValue());
+            }
+        }
+        int s = source == null ? -1 : graph.idOf(source);
+        if (s >= 0) {
+            par[s] = NO_PARENT;
+        }
+        return new ShortestPathResult(graph, s, dist, par);
+    }
+
+    void markNegativeCycle() {
+        negativeCycle = true;
+    }
+
+    // distances are not reliable when a negative cycle is reachable from the source
+    public boolean hasNegativeCycle() {
+        return negativeCycle;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public Vertex getSource() {
+        return source < 0 ? null : graph.vertex(source);
+    }
+
+    public int getSourceId() {
+        return source;
+    }
+
+    public double distanceTo(int v) {
+        return dist[v];
+    }
+
+    public double distanceTo(Vertex vertex) {
+        int v = graph.idOf(vertex);
+        return v < 0 ? Double.POSITIVE_INFINITY : dist[v];
+    }
+
+    public boolean hasPathTo(int v) {
+        return dist[v] != Double.POSITIVE_INFINITY;
+    }
+
+    public boolean hasPathTo(Vertex vertex) {
+        int v = graph.idOf(vertex);
+        return v >= 0 && hasPathTo(v);
+    }
+
+    public int parentOf(int v) {
+        return parent[v];
+    }
+
+    public Vertex parentOf(Vertex vertex) {
+        int v = graph.idOf(vertex);
+        if (v < 0 || parent[v] == NO_PARENT) {
+            return null;
+        }
+        return graph.vertex(parent[v]);
+    }
+
+    // vertices from the source to the target, empty if the target is not reachable
+    public List<Vertex> pathTo(Vertex target) {
+        int t = graph.idOf(target);
+        if (t < 0 || !hasPathTo(t)) {
+            return Collections.emptyList();
+        }
+        LinkedList<Vertex> path = new LinkedList<>();
+        int steps = 0;
+        for (int v = t; v != NO_PARENT; v = parent[v]) {
+            path.addFirst(graph.vertex(v));
+            if (++steps > dist.length) {
+                // parent pointers form a cycle, only possible with a negative cycle
+                return Collections.emptyList();
+            }
+        }
+        return path;
+    }
+
+    // read-only views for code that works on vertex maps, e.g. State; only reached vertices are present
+    public Map<Vertex, Double> asDistanceMap() {
+        return new ArrayBackedMap<Double>() {
+            @Override
+            Double value(int v) {
+                return dist[v];
+            }
+        };
+    }
+
+    public Map<Vertex, Vertex> asParentMap() {
+        return new ArrayBackedMap<Vertex>() {
+            @Override
+            boolean present(int v) {
+                return parent[v] != NO_PARENT;
+            }
+
+            @Override
+            Vertex value(int v) {
+                return graph.vertex(parent[v]);
+            }
+        };
+    }
+
+    private abstract class ArrayBackedMap<V> extends AbstractMap<Vertex, V> {
+        boolean present(int v) {
+            return dist[v] != Double.POSITIVE_INFINITY;
+        }
+
+        abstract V value(int v);
+
+        @Override
+        public V get(Object key) {
+            if (!(key instanceof Vertex)) {
+                return null;
+            }
+            int v = graph.idOf((Vertex) key);
+            return v >= 0 && present(v) ? value(v) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Vertex && get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<Vertex, V>> entrySet() {
+            return new AbstractSet<Entry<Vertex, V>>() {
+                @Override
+                public Iterator<Entry<Vertex, V>> iterator() {
+                    return new Iterator<Entry<Vertex, V>>() {
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            while (from < dist.length && !present(from)) {
+                                from++;
+                            }
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < dist.length;
+                        }
+
+                        @Override
+                        public Entry<Vertex, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int v = next;
+                            next = advance(next + 1);
+                            return new SimpleImmutableEntry<>(graph.vertex(v), value(v));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int count = 0;
+                    for (int v = 0; v < dist.length; v++) {
+                        if (present(v)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.algorithm.queue.IndexedDaryHeap;
+import com.graph.graph.algorithm.queue.QueueType;
+import com.graph.graph.graphcore.CompactGraph;
+
+/**
+ * Shortest paths for graphs with small integer weights, picking the engine from the weights.
+ * Weights of only 0 and 1 run 0-1 BFS: a deque where 0 edges push to the front and 1 edges to
+ * the back, so it is always sorted and the search is linear. Non-negative integer weights up to
+ * {@link QueueType#MAX_BUCKET_WEIGHT} run Dial's algorithm on circular buckets. Anything else
+ * falls back to Dijkstra with the queue {@link QueueType#select} picks.
+ */
+public class SmallWeightShortestPath extends Algorithm {
+    public enum Mode {
+        ZERO_ONE_BFS,
+        DIAL,
+        DIJKSTRA
+    }
+
+    private Mode mode;
+
+    public SmallWeightShortestPath() {
+        super();
+        pseudoStep.clear();
+        pseudoStep.put(0, "if every w is 0 or 1: 0-1 BFS, Dq.push(sourceVertex)\n"
+                + "else if every w is a small integer: Dial, bucket[0] = {sourceVertex}");
+        pseudoStep.put(1, "while the queue is not empty\n"
+                + "    u = the first vertex of Dq, or of the first non-empty bucket\n"
+                + "    for each edge (u, v): if relax(u, v, w(u,v)), put v in front (w = 0) / back (w = 1),\n"
+                + "    or in bucket d[v] mod (max w + 1)");
+        pseudoStep.put(2, "End of Small Weight Shortest Path");
+    }
+
+    // engine picked by the last solve
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void run() {
+        stepList.clear();
+        distance.clear();
+        parent.clear();
+        solve();
+        addResultStep(2, "The highlighted edges are the SSSP spanning tree from source vertex " + startVertex.getId()
+                + ",\nfound by " + mode + ", " + settledCount + " vertices settled.");
+    }
+
+    @Override
+    public ShortestPathResult solve() {
+        CompactGraph compact = getCompactGraph();
+        int n = compact.numVertices();
+        int source = startVertexId(compact);
+        int target = targetVertexId(compact);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        double[] dist = infiniteDistances(n);
+        int[] parent = noParents(n);
+
+        boolean zeroOne = true;
+        for (double w : weights) {
+            if (w != 0 && w != 1) {
+                zeroOne = false;
+                break;
+            }
+        }
+        if (zeroOne) {
+            mode = Mode.ZERO_ONE_BFS;
+            settledCount = zeroOneBfs(offsets, targets, weights, source, target, dist, parent);
+        } else {
+            requireNonNegativeWeights(compact, "Small Weight Shortest Path");
+            QueueType queueType = QueueType.select(weights);
+            mode = queueType == QueueType.BUCKET_QUEUE ? Mode.DIAL : Mode.DIJKSTRA;
+            settledCount = Dijkstra.shortestPaths(offsets, targets, weights, source, target, dist, parent,
+                    queueType.create(compact, IndexedDaryHeap.DEFAULT_ARITY));
+        }
+        result = new ShortestPathResult(compact, source, dist, parent);
+        return result;
+    }
+
+    // returns the number of settled vertices
+    static int zeroOneBfs(int[] offsets, int[] targets, double[] weights, int source, int target,
+                          double[] dist, int[] parent) {
+        int n = dist.length;
+        boolean[] settled = new boolean[n];
+        // a vertex is pushed once per improvement, at most 1 + |E| pushes in all
+        int[] deque = new int[targets.length + 1];
+        int head = 0;
+        int size = 1;
+        deque[0] = source;
+        dist[source] = 0;
+        int count = 0;
+        while (size > 0) {
+            int u = deque[head];
+            head = head + 1 == deque.length ? 0 : head + 1;
+            size--;
+            if (settled[u]) {
+                continue; // stale copy, pushed again after a 0 edge improved it
+            }
+            settled[u] = true;
+            count++;
+            if (u == target) {
+                // as in Dijkstra, labels that are not settled are only upper bounds
+                for (int v = 0; v < n; v++) {
+                    if (!settled[v]) {
+                        dist[v] = Double.POSITIVE_INFINITY;
+                        parent[v] = ShortestPathResult.NO_PARENT;
+                    }
+                }
+                break;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double d = dist[u] + weights[i];
+                if (d >= dist[v]) {
+                    continue;
+                }
+                dist[v] = d;
+                parent[v] = u;
+                if (weights[i] == 0) {
+                    head = head == 0 ? deque.length - 1 : head - 1;
+                    deque[head] = v;
+                } else {
+                    deque[(head + size) % deque.length] = v;
+                }
+                size++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,94 @@
+package com.graph.graph.algorithm.queue;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Dial's bucket queue for small non-negative integer edge weights up to maxWeight.
+ * Queued keys always lie in [min, min + maxWeight], so maxWeight + 1 buckets used as a
+ * circular array are enough and the scan for the minimum only moves forward.
+ */
+public class BucketQueue implements PriorityQueueStrategy {
+    private final EntryList[] buckets;
+    private final long[] keys;
+    private final boolean[] queued;
+    private int live = 0;
+    private long cursor = 0;
+    private boolean polling = false; // false until the first pollMin after construction or clear
+    private long maxKey = 0;
+
+    public BucketQueue(int capacity, int maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Bucket queue needs non-negative weights");
+        }
+        buckets = new EntryList[maxWeight + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new EntryList();
+        }
+        keys = new long[capacity];
+        queued = new boolean[capacity];
+    }
+
+    @Override
+    public void insertOrDecrease(int item, double key) {
+        long k = (long) key;
+        long high = k;
+        if (!polling) {
+            // before the first poll the window starts at the smallest key inserted so far
+            cursor = live == 0 ? k : Math.min(cursor, k);
+            maxKey = live == 0 ? k : Math.max(maxKey, k);
+            high = maxKey;
+        }
+        if (key < 0 || k < cursor || high - cursor >= buckets.length) {
+            throw new IllegalArgumentException("Key " + key + " is outside the bucket window");
+        }
+        if (queued[item]) {
+            if (k >= keys[item]) {
+                return;
+            }
+        } else {
+            queued[item] = true;
+            live++;
+        }
+        keys[item] = k;
+        buckets[(int) (k % buckets.length)].add(item, k);
+    }
+
+    @Override
+    public int pollMin() {
+        if (live == 0) {
+            throw new NoSuchElementException();
+        }
+        polling = true;
+        while (true) {
+            EntryList b = buckets[(int) (cursor % buckets.length)];
+            while (!b.isEmpty()) {
+                b.size--;
+                int item = b.items[b.size];
+                if (queued[item] && keys[item] == b.keys[b.size]) {
+                    queued[item] = false;
+                    live--;
+                    return item;
+                }
+            }
+            cursor++;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return live == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (EntryList b : buckets) {
+            for (int j = 0; j < b.size; j++) {
+                queued[b.items[j]] = false;
+            }
+            b.clear();
+        }
+        live = 0;
+        cursor = 0;
+        polling = false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.graph.graph.algorithm.queue;
+
+import java.util.Arrays;
+
+// growable list of (item, key) pairs, used as a bucket by the integer queues
+class EntryList {
+    int[] items = new int[4];
+    long[] keys = new long[4];
+    int size = 0;
+
+    void add(int item, long key) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        items[size] = item;
+        keys[size] = key;
+        size++;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
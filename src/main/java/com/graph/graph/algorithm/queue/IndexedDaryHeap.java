@@ -0,0 +1,169 @@
+package com.graph.graph.algorithm.queue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-heap over int items 0..capacity-1 with a d-ary tree layout and decrease-key.
+ * Every item is in the heap at most once; its position is tracked so that
+ * decreaseKey and contains run without searching.
+ * A larger arity gives a flatter tree: cheaper decreaseKey and more cache friendly
+ * sift-down scans, at the cost of more comparisons per pollMin.
+ */
+public class IndexedDaryHeap implements PriorityQueueStrategy {
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] heap;      // heap position -> item
+    private final int[] position;  // item -> heap position, -1 when not in the heap
+    private final double[] keys;   // item -> key
+    private int size = 0;
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    // items must be below this
+    public int capacity() {
+        return heap.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    public double keyOf(int item) {
+        return keys[item];
+    }
+
+    public void insert(int item, double key) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("Item " + item + " is already in the heap");
+        }
+        keys[item] = key;
+        heap[size] = item;
+        position[item] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int item, double key) {
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("New key is larger than the current key");
+        }
+        keys[item] = key;
+        siftUp(position[item]);
+    }
+
+    @Override
+    public void insertOrDecrease(int item, double key) {
+        if (!contains(item)) {
+            insert(item, key);
+        } else if (key < keys[item]) {
+            decreaseKey(item, key);
+        }
+    }
+
+    public int peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    public double peekMinKey() {
+        return keys[peekMin()];
+    }
+
+    @Override
+    public int pollMin() {
+        int min = peekMin();
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (i > 0) {
+            int p = (i - 1) / arity;
+            int parentItem = heap[p];
+            if (keys[parentItem] <= key) {
+                break;
+            }
+            heap[i] = parentItem;
+            position[parentItem] = i;
+            i = p;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int best = first;
+            double bestKey = keys[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                double k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (key <= bestKey) {
+                break;
+            }
+            int child = heap[best];
+            heap[i] = child;
+            position[child] = i;
+            i = best;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+}
@@ -0,0 +1,111 @@
+package com.graph.graph.algorithm.queue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary heap of (item, key) entries without a position index.
+ * A decrease pushes a new entry; outdated entries stay in the heap and are skipped when they surface.
+ */
+public class LazyBinaryHeap implements PriorityQueueStrategy {
+    private int[] items;
+    private double[] entryKeys;
+    private int size = 0;
+
+    private final double[] keys;     // current key per item
+    private final boolean[] queued;
+    private int live = 0;
+
+    public LazyBinaryHeap(int capacity) {
+        items = new int[Math.max(capacity, 1)];
+        entryKeys = new double[items.length];
+        keys = new double[capacity];
+        queued = new boolean[capacity];
+    }
+
+    @Override
+    public void insertOrDecrease(int item, double key) {
+        if (queued[item]) {
+            if (key >= keys[item]) {
+                return;
+            }
+        } else {
+            queued[item] = true;
+            live++;
+        }
+        keys[item] = key;
+        push(item, key);
+    }
+
+    @Override
+    public int pollMin() {
+        while (size > 0) {
+            int item = items[0];
+            double key = entryKeys[0];
+            removeTop();
+            if (queued[item] && key == keys[item]) {
+                queued[item] = false;
+                live--;
+                return item;
+            }
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return live == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            queued[items[i]] = false;
+        }
+        size = 0;
+        live = 0;
+    }
+
+    private void push(int item, double key) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            entryKeys = Arrays.copyOf(entryKeys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (entryKeys[p] <= key) {
+                break;
+            }
+            items[i] = items[p];
+            entryKeys[i] = entryKeys[p];
+            i = p;
+        }
+        items[i] = item;
+        entryKeys[i] = key;
+    }
+
+    private void removeTop() {
+        size--;
+        int item = items[size];
+        double key = entryKeys[size];
+        int i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) {
+                break;
+            }
+            if (c + 1 < size && entryKeys[c + 1] < entryKeys[c]) {
+                c++;
+            }
+            if (key <= entryKeys[c]) {
+                break;
+            }
+            items[i] = items[c];
+            entryKeys[i] = entryKeys[c];
+            i = c;
+        }
+        items[i] = item;
+        entryKeys[i] = key;
+    }
+}
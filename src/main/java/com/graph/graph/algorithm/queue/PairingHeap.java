@@ -0,0 +1,133 @@
+package com.graph.graph.algorithm.queue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pairing heap over int items with decrease-key. The tree is stored in arrays indexed by item:
+ * first child, next sibling, and prev, which is the left sibling or, for a first child, the parent.
+ */
+public class PairingHeap implements PriorityQueueStrategy {
+    private static final int NONE = -1;
+
+    private final int[] child;
+    private final int[] sibling;
+    private final int[] prev;
+    private final double[] keys;
+    private final boolean[] queued;
+    private final int[] scratch; // subtrees collected while merging the children of the old root
+    private int root = NONE;
+    private int size = 0;
+
+    public PairingHeap(int capacity) {
+        child = new int[capacity];
+        sibling = new int[capacity];
+        prev = new int[capacity];
+        keys = new double[capacity];
+        queued = new boolean[capacity];
+        scratch = new int[capacity];
+    }
+
+    @Override
+    public void insertOrDecrease(int item, double key) {
+        if (!queued[item]) {
+            queued[item] = true;
+            size++;
+            keys[item] = key;
+            child[item] = NONE;
+            sibling[item] = NONE;
+            prev[item] = NONE;
+            root = root == NONE ? item : link(root, item);
+        } else if (key < keys[item]) {
+            keys[item] = key;
+            if (item != root) {
+                cut(item);
+                root = link(root, item);
+            }
+        }
+    }
+
+    @Override
+    public int pollMin() {
+        if (root == NONE) {
+            throw new NoSuchElementException();
+        }
+        int min = root;
+        queued[min] = false;
+        size--;
+        root = mergePairs(child[min]);
+        child[min] = NONE;
+        return min;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(queued, false);
+        root = NONE;
+        size = 0;
+    }
+
+    // detach the subtree rooted at item from its parent or left sibling
+    private void cut(int item) {
+        int p = prev[item];
+        if (child[p] == item) {
+            child[p] = sibling[item];
+        } else {
+            sibling[p] = sibling[item];
+        }
+        if (sibling[item] != NONE) {
+            prev[sibling[item]] = p;
+        }
+        sibling[item] = NONE;
+        prev[item] = NONE;
+    }
+
+    // merge two detached trees, the one with the larger key becomes the first child of the other
+    private int link(int a, int b) {
+        if (keys[b] < keys[a]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        sibling[b] = child[a];
+        if (child[a] != NONE) {
+            prev[child[a]] = b;
+        }
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    private int mergePairs(int first) {
+        if (first == NONE) {
+            return NONE;
+        }
+        int count = 0;
+        for (int c = first; c != NONE; ) {
+            int next = sibling[c];
+            sibling[c] = NONE;
+            prev[c] = NONE;
+            scratch[count++] = c;
+            c = next;
+        }
+        // first pass: link pairs left to right
+        int pairs = 0;
+        for (int i = 0; i + 1 < count; i += 2) {
+            scratch[pairs++] = link(scratch[i], scratch[i + 1]);
+        }
+        if (count % 2 == 1) {
+            scratch[pairs++] = scratch[count - 1];
+        }
+        // second pass: fold the pairs right to left
+        int result = scratch[pairs - 1];
+        for (int i = pairs - 2; i >= 0; i--) {
+            result = link(scratch[i], result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,17 @@
+package com.graph.graph.algorithm.queue;
+
+/**
+ * Min-priority queue over int items (dense vertex ids) as used by Dijkstra.
+ * An item is queued at most once: inserting a queued item only lowers its key.
+ * pollMin returns each queued item once, with its smallest key.
+ */
+public interface PriorityQueueStrategy {
+    // insert the item, or lower its key if it is already queued with a larger one
+    void insertOrDecrease(int item, double key);
+
+    int pollMin();
+
+    boolean isEmpty();
+
+    void clear();
+}
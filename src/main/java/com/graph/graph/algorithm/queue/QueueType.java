@@ -0,0 +1,69 @@
+package com.graph.graph.algorithm.queue;
+
+import com.graph.graph.graphcore.CompactGraph;
+
+/**
+ * The priority queues Dijkstra can run with. AUTO scans the edge weights and picks
+ * Dial's buckets for small integer weights, a radix heap for other non-negative integer
+ * weights and the d-ary heap otherwise.
+ */
+public enum QueueType {
+    DARY_HEAP,
+    LAZY_BINARY_HEAP,
+    PAIRING_HEAP,
+    RADIX_HEAP,
+    BUCKET_QUEUE,
+    AUTO;
+
+    // largest weight for which AUTO still picks the bucket queue, one bucket per weight value
+    public static final int MAX_BUCKET_WEIGHT = 1 << 12;
+
+    public PriorityQueueStrategy create(CompactGraph graph, int arity) {
+        int n = graph.numVertices();
+        switch (this) {
+            case DARY_HEAP:
+                return new IndexedDaryHeap(n, arity);
+            case LAZY_BINARY_HEAP:
+                return new LazyBinaryHeap(n);
+            case PAIRING_HEAP:
+                return new PairingHeap(n);
+            case RADIX_HEAP:
+                checkIntegerWeights(graph.getWeights());
+                return new RadixHeap(n);
+            case BUCKET_QUEUE:
+                return new BucketQueue(n, checkIntegerWeights(graph.getWeights()));
+            default:
+                return select(graph.getWeights()).create(graph, arity);
+        }
+    }
+
+    // the fastest queue that is correct for these weights
+    public static QueueType select(double[] weights) {
+        boolean integral = true;
+        double max = 0;
+        for (double w : weights) {
+            if (w < 0) {
+                return DARY_HEAP;
+            }
+            if (w != Math.rint(w) || w > Integer.MAX_VALUE) {
+                integral = false;
+            }
+            max = Math.max(max, w);
+        }
+        if (!integral) {
+            return DARY_HEAP;
+        }
+        return max <= MAX_BUCKET_WEIGHT ? BUCKET_QUEUE : RADIX_HEAP;
+    }
+
+    private static int checkIntegerWeights(double[] weights) {
+        double max = 0;
+        for (double w : weights) {
+            if (w < 0 || w != Math.rint(w) || w > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Queue needs non-negative integer weights, found " + w);
+            }
+            max = Math.max(max, w);
+        }
+        return (int) max;
+    }
+}
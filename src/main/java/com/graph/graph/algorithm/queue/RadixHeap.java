@@ -0,0 +1,112 @@
+package com.graph.graph.algorithm.queue;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Monotone radix heap for non-negative integer keys. Bucket i holds the keys whose highest
+ * bit differing from the last polled key is bit i-1, so every item moves down at most 64 times.
+ * Keys are rounded down to long and may not be smaller than the last polled key.
+ */
+public class RadixHeap implements PriorityQueueStrategy {
+    private final EntryList[] buckets = new EntryList[65];
+    private final long[] keys;
+    private final boolean[] queued;
+    private int live = 0;
+    private long last = 0;
+
+    public RadixHeap(int capacity) {
+        keys = new long[capacity];
+        queued = new boolean[capacity];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new EntryList();
+        }
+    }
+
+    @Override
+    public void insertOrDecrease(int item, double key) {
+        long k = (long) key;
+        if (live == 0) {
+            last = Math.min(last, k); // only outdated entries are left, the heap can restart lower
+        }
+        if (k < last || key < 0) {
+            throw new IllegalArgumentException("Radix heap keys must be non-negative and monotone");
+        }
+        if (queued[item]) {
+            if (k >= keys[item]) {
+                return;
+            }
+        } else {
+            queued[item] = true;
+            live++;
+        }
+        keys[item] = k;
+        buckets[bucketOf(k)].add(item, k);
+    }
+
+    @Override
+    public int pollMin() {
+        if (live == 0) {
+            throw new NoSuchElementException();
+        }
+        while (true) {
+            EntryList zero = buckets[0];
+            while (!zero.isEmpty()) {
+                zero.size--;
+                int item = zero.items[zero.size];
+                if (isValid(item, zero.keys[zero.size])) {
+                    queued[item] = false;
+                    live--;
+                    return item;
+                }
+            }
+            // refill bucket 0 from the first bucket that holds a live entry
+            int i = 1;
+            long min = Long.MAX_VALUE;
+            for (; i < buckets.length; i++) {
+                EntryList b = buckets[i];
+                for (int j = 0; j < b.size; j++) {
+                    if (isValid(b.items[j], b.keys[j]) && b.keys[j] < min) {
+                        min = b.keys[j];
+                    }
+                }
+                if (min != Long.MAX_VALUE) {
+                    break;
+                }
+                b.clear();
+            }
+            EntryList b = buckets[i];
+            last = min;
+            for (int j = 0; j < b.size; j++) {
+                if (isValid(b.items[j], b.keys[j])) {
+                    buckets[bucketOf(b.keys[j])].add(b.items[j], b.keys[j]);
+                }
+            }
+            b.clear();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return live == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (EntryList b : buckets) {
+            for (int j = 0; j < b.size; j++) {
+                queued[b.items[j]] = false;
+            }
+            b.clear();
+        }
+        live = 0;
+        last = 0;
+    }
+
+    private boolean isValid(int item, long key) {
+        return queued[item] && keys[item] == key;
+    }
+
+    private int bucketOf(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+}
@@ -3,6 +3,7 @@ package com.graph.graph.controllers;
 import com.graph.graph.algorithm.Algorithm;
 import com.graph.graph.algorithm.BFS;
 import com.graph.graph.algorithm.BellmanFord;
+import com.graph.graph.algorithm.DagShortestPath;
 import com.graph.graph.algorithm.Dijkstra;
 import com.graph.graph.containers.GraphContainer;
 import com.graph.graph.graphcore.Graph;
@@ -45,6 +46,8 @@ public class MainController {
     @FXML
     public MenuItem bellmanFord;
     @FXML
+    public MenuItem dagShortestPath;
+    @FXML
     public TextField startVertex;
     @FXML
     public Button reset;
@@ -119,6 +122,9 @@ public class MainController {
                 } else if (item.getText().equals("Bellman-Ford")) {
                     algorithm = new BellmanFord();
                     algo.setText("Bellman-Ford");
+                } else if (item.getText().equals("DAG Shortest Path")) {
+                    algorithm = new DagShortestPath();
+                    algo.setText("DAG Shortest Path");
                 }
                 algo.setPrefWidth(128);
                 resetControl();
@@ -0,0 +1,191 @@
+package com.graph.graph.graphcore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a {@link Graph}.
+ * <p>
+ * Vertices get dense ids 0..n-1 in the id order of {@link Graph#getVertices()}.
+ * The outgoing edges of vertex u are the slots offsets[u]..offsets[u+1]-1 of
+ * targets and weights, in the same order as {@link Graph#outgoingEdges(Vertex)}.
+ * The reverse arrays hold the incoming edges the same way and are only built on request.
+ * The snapshot does not follow later changes to the graph.
+ */
+public class CompactGraph {
+    private final Graph graph;
+    private final long version;
+    private final Vertex[] vertices;
+    private final Map<String, Integer> ids;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private final int[] reverseOffsets;
+    private final int[] reverseSources;
+    private final double[] reverseWeights;
+
+    public CompactGraph(Graph graph) {
+        this(graph, false);
+    }
+
+    public CompactGraph(Graph graph, boolean withReverse) {
+        this.graph = graph;
+        this.version = graph.getVersion();
+        int n = graph.numVertices();
+        int m = graph.numEdges();
+        vertices = new Vertex[n];
+        ids = new HashMap<String, Integer>(n * 2);
+        int i = 0;
+        for (Vertex v : graph.getVertices()) {
+            vertices[i] = v;
+            ids.put(v.getId(), i);
+            i++;
+        }
+
+        offsets = new int[n + 1];
+        targets = new int[m];
+        weights = new double[m];
+        int slot = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = slot;
+            for (Edge e : graph.outgoingEdges(vertices[u])) {
+                targets[slot] = ids.get(e.getDestination().getId());
+                weights[slot] = e.getWeight();
+                slot++;
+            }
+        }
+        offsets[n] = slot;
+
+        if (withReverse) {
+            reverseOffsets = new int[n + 1];
+            reverseSources = new int[m];
+            reverseWeights = new double[m];
+            slot = 0;
+            for (int v = 0; v < n; v++) {
+                reverseOffsets[v] = slot;
+                for (Edge e : graph.incomingEdges(vertices[v])) {
+                    reverseSources[slot] = ids.get(e.getSource().getId());
+                    reverseWeights[slot] = e.getWeight();
+                    slot++;
+                }
+            }
+            reverseOffsets[n] = slot;
+        } else {
+            reverseOffsets = null;
+            reverseSources = null;
+            reverseWeights = null;
+        }
+    }
+
+    public int numVertices() {
+        return vertices.length;
+    }
+
+    public int numEdges() {
+        return targets.length;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    // true while the graph has not changed since the snapshot was taken
+    public boolean isCurrent() {
+        return graph.getVersion() == version;
+    }
+
+    // dense id of a vertex, -1 if the vertex was not in the graph when the snapshot was taken
+    public int idOf(Vertex vertex) {
+        return idOf(vertex.getId());
+    }
+
+    public int idOf(String vertexId) {
+        Integer id = ids.get(vertexId);
+        return id == null ? -1 : id;
+    }
+
+    public Vertex vertex(int id) {
+        return vertices[id];
+    }
+
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    public int inDegree(int v) {
+        return reverseOffsets[v + 1] - reverseOffsets[v];
+    }
+
+    // edge of the underlying graph stored at the given outgoing slot of u
+    public Edge edge(int u, int slot) {
+        List<Edge> out = graph.outgoingEdges(vertices[u]);
+        return out.get(slot - offsets[u]);
+    }
+
+    // hash of the vertex ids and the weighted edges, used to check that data saved for an
+    // earlier snapshot still matches the graph
+    public long fingerprint() {
+        long h = 0xcbf29ce484222325L;
+        for (Vertex v : vertices) {
+            h = (h ^ v.getId().hashCode()) * 0x100000001b3L;
+        }
+        for (int u = 0; u < vertices.length; u++) {
+            h = (h ^ offsets[u + 1]) * 0x100000001b3L;
+        }
+        for (int i = 0; i < targets.length; i++) {
+            h = (h ^ targets[i]) * 0x100000001b3L;
+            h = (h ^ Double.doubleToLongBits(weights[i])) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // same vertex ids and the same edges, weights may differ
+    public boolean sameTopology(CompactGraph other) {
+        if (other == this) {
+            return true;
+        }
+        if (other.vertices.length != vertices.length || !Arrays.equals(other.offsets, offsets)
+                || !Arrays.equals(other.targets, targets)) {
+            return false;
+        }
+        for (int v = 0; v < vertices.length; v++) {
+            if (!vertices[v].getId().equals(other.vertices[v].getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasReverse() {
+        return reverseOffsets != null;
+    }
+
+    // the arrays are shared, not copied; callers must not modify them
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    public int[] getReverseOffsets() {
+        return reverseOffsets;
+    }
+
+    public int[] getReverseSources() {
+        return reverseSources;
+    }
+
+    public double[] getReverseWeights() {
+        return reverseWeights;
+    }
+}
@@ -5,6 +5,10 @@ public class Edge implements Comparable<Edge> {
     private Vertex destination;
     private double weight;
 
+    private Graph graph; // graph holding this edge, told about weight changes
+    int outSlot = -1; // position in the outgoing list of the source, kept by Graph
+    int inSlot = -1;  // position in the incoming list of the destination
+
     public Edge(Vertex source, Vertex destination, double weight) {
         this.source = source;
         this.destination = destination;
@@ -16,7 +20,11 @@ public class Edge implements Comparable<Edge> {
     }
 
     public void setSource(Vertex source) {
-        this.source = source;
+        if (graph != null) {
+            graph.moveEdge(this, source, destination);
+        } else {
+            this.source = source;
+        }
     }
 
     public Vertex getDestination() {
@@ -24,6 +32,15 @@ public class Edge implements Comparable<Edge> {
     }
 
     public void setDestination(Vertex destination) {
+        if (graph != null) {
+            graph.moveEdge(this, source, destination);
+        } else {
+            this.destination = destination;
+        }
+    }
+
+    void assignEndpoints(Vertex source, Vertex destination) {
+        this.source = source;
         this.destination = destination;
     }
 
@@ -33,6 +50,13 @@ public class Edge implements Comparable<Edge> {
 
     public void setWeight(double weight) {
         this.weight = weight;
+        if (graph != null) {
+            graph.modified();
+        }
+    }
+
+    void setGraph(Graph graph) {
+        this.graph = graph;
     }
 
     @Override
@@ -7,6 +7,85 @@ public class Graph {
 
     private Set<Edge> edges = new TreeSet<Edge>();
 
+    // hash index for id lookups, kept in sync with vertices and edges
+    private Map<String, Vertex> vertexIndex = new HashMap<String, Vertex>();
+    private Map<String, Map<String, Edge>> edgeIndex = new HashMap<String, Map<String, Edge>>();
+
+    // outgoing and incoming edges per vertex, sorted by the id of the opposite vertex when read
+    private Map<Vertex, Adjacency> adjacency = new HashMap<Vertex, Adjacency>();
+
+    // bumped on every change to vertices, edges or weights so snapshots can tell they are stale
+    private long version = 0;
+
+    private static final Comparator<Edge> BY_DESTINATION = Comparator.comparing(e -> e.getDestination().getId());
+    private static final Comparator<Edge> BY_SOURCE = Comparator.comparing(e -> e.getSource().getId());
+
+    // edges are appended in O(1) and a list is sorted only when it is read after going out of order,
+    // so building a hub vertex costs O(deg log deg) instead of a middle insert per edge; an edge
+    // knows its slot in both lists, so removing it moves the last edge into the gap in O(1)
+    private static class Adjacency {
+        final List<Edge> out = new ArrayList<Edge>();
+        final List<Edge> in = new ArrayList<Edge>();
+        final List<Edge> outView = Collections.unmodifiableList(out);
+        final List<Edge> inView = Collections.unmodifiableList(in);
+        boolean outSorted = true;
+        boolean inSorted = true;
+
+        void addOut(Edge edge) {
+            outSorted &= out.isEmpty() || BY_DESTINATION.compare(out.get(out.size() - 1), edge) < 0;
+            edge.outSlot = out.size();
+            out.add(edge);
+        }
+
+        void addIn(Edge edge) {
+            inSorted &= in.isEmpty() || BY_SOURCE.compare(in.get(in.size() - 1), edge) < 0;
+            edge.inSlot = in.size();
+            in.add(edge);
+        }
+
+        void removeOut(Edge edge) {
+            Edge last = out.remove(out.size() - 1);
+            if (last != edge) {
+                out.set(edge.outSlot, last);
+                last.outSlot = edge.outSlot;
+                outSorted = false;
+            }
+            edge.outSlot = -1;
+        }
+
+        void removeIn(Edge edge) {
+            Edge last = in.remove(in.size() - 1);
+            if (last != edge) {
+                in.set(edge.inSlot, last);
+                last.inSlot = edge.inSlot;
+                inSorted = false;
+            }
+            edge.inSlot = -1;
+        }
+
+        List<Edge> outgoing() {
+            if (!outSorted) {
+                out.sort(BY_DESTINATION);
+                for (int i = 0; i < out.size(); i++) {
+                    out.get(i).outSlot = i;
+                }
+                outSorted = true;
+            }
+            return outView;
+        }
+
+        List<Edge> incoming() {
+            if (!inSorted) {
+                in.sort(BY_SOURCE);
+                for (int i = 0; i < in.size(); i++) {
+                    in.get(i).inSlot = i;
+                }
+                inSorted = true;
+            }
+            return inView;
+        }
+    }
+
     public int numVertices() {
         return vertices.size();
     }
@@ -15,150 +94,158 @@ public class Graph {
         return edges.size();
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    void modified() {
+        version++;
+    }
+
     public void addVertex(String id) {
-        // TODO
-        for (Vertex v : vertices) {
-            if (v.getId().equals(id)) {
-                System.out.println("Vertex already exists");
-                return;
-            }
+        if (vertexIndex.containsKey(id)) {
+            System.out.println("Vertex already exists");
+            return;
         }
-        vertices.add(new Vertex(id));
+        insertVertex(new Vertex(id));
         System.out.println("Vertex added");
     }
 
     public void addVertex(String id, double px, double py) {
-        for (Vertex v : vertices) {
-            if (v.getId().equals(id)) {
-                return;
-            }
+        if (vertexIndex.containsKey(id)) {
+            return;
         }
-        vertices.add(new Vertex(id, px, py));
+        insertVertex(new Vertex(id, px, py));
     }
 
     public void addVertex(Vertex vertex) {
-        if (!vertices.contains(vertex)) {
-            vertices.add(vertex);
+        if (!vertexIndex.containsKey(vertex.getId())) {
+            insertVertex(vertex);
         }
     }
 
+    private void insertVertex(Vertex vertex) {
+        vertices.add(vertex);
+        vertexIndex.put(vertex.getId(), vertex);
+        adjacency.put(vertex, new Adjacency());
+        vertex.setGraph(this);
+        version++;
+    }
+
     public void removeVertex(Vertex vertex) {
-        for (Vertex v : vertices) {
-            if (v.compareTo(vertex) == 0) {
-                vertices.remove(v);
-                edges.removeIf(e -> e.getSource().compareTo(v) == 0 || e.getDestination().compareTo(v) == 0);
-                return;
-            }
+        Vertex v = vertexIndex.get(vertex.getId());
+        if (v != null) {
+            deleteVertex(v);
         }
     }
 
     public void removeVertex(String id) {
-        boolean isExist = false;
-        for (Vertex v : vertices) {
-            if (v.getId().equals(id)) {
-                isExist = true;
-                vertices.remove(v);
-                System.out.println("Vertex removed");
-                return;
-            }
-        }
-        if (isExist) {
-            edges.removeIf(edge -> edge.getSource().getId().equals(id) || edge.getDestination().getId().equals(id));
+        Vertex v = vertexIndex.get(id);
+        if (v != null) {
+            deleteVertex(v);
+            System.out.println("Vertex removed");
         } else {
             System.out.println("Vertex does not exist");
         }
     }
 
+    private void deleteVertex(Vertex v) {
+        Adjacency adj = adjacency.get(v);
+        for (Edge e : new ArrayList<Edge>(adj.out)) {
+            deleteEdge(e);
+        }
+        for (Edge e : new ArrayList<Edge>(adj.in)) {
+            deleteEdge(e);
+        }
+        vertices.remove(v);
+        vertexIndex.remove(v.getId());
+        adjacency.remove(v);
+        v.setGraph(null);
+        version++;
+    }
+
     public void addEdge(String vertex1Id, String vertex2Id) {
         // add edge to the graph
-        Vertex vertex1 = null;
-        Vertex vertex2 = null;
-        // find vertex1 and vertex2 if they exist
-        for (Vertex v : vertices) {
-            if (v.getId().equals(vertex1Id)) {
-                vertex1 = v;
-            }
-            if (v.getId().equals(vertex2Id)) {
-                vertex2 = v;
-            }
-        }
+        Vertex vertex1 = vertexIndex.get(vertex1Id);
+        Vertex vertex2 = vertexIndex.get(vertex2Id);
         if (vertex1 == null || vertex2 == null) {
             System.out.println("Vertex does not exist");
             return;
-        } else {
-            edges.add(new Edge(vertex1, vertex2, 1));
+        } else if (getEdge(vertex1Id, vertex2Id) == null) {
+            insertEdge(new Edge(vertex1, vertex2, 1));
         }
         System.out.println("Edge added");
     }
 
+    private void insertEdge(Edge edge) {
+        edges.add(edge);
+        edgeIndex.computeIfAbsent(edge.getSource().getId(), k -> new HashMap<String, Edge>())
+                .put(edge.getDestination().getId(), edge);
+        adjacency.get(edge.getSource()).addOut(edge);
+        adjacency.get(edge.getDestination()).addIn(edge);
+        edge.setGraph(this);
+        version++;
+    }
+
     public void changeEdgeWeight(String vertex1Id, String vertex2Id, double weight) {
         // check if edge exists
-        Vertex vertex1 = null;
-        Vertex vertex2 = null;
-        for (Vertex v : vertices) {
-            if (v.getId().equals(vertex1Id)) {
-                vertex1 = v;
-            }
-            if (v.getId().equals(vertex2Id)) {
-                vertex2 = v;
-            }
-        }
-        if (vertex1 == null || vertex2 == null) {
+        if (!vertexIndex.containsKey(vertex1Id) || !vertexIndex.containsKey(vertex2Id)) {
             System.out.println("Vertex does not exist");
             return;
-        } else {
-            for (Edge e : edges) {
-                if (e.getSource().getId().equals(vertex1Id) && e.getDestination().getId().equals(vertex2Id)) {
-                    e.setWeight(weight);
-                    System.out.println("Edge weight changed");
-                    return;
-                }
-            }
+        }
+        Edge e = getEdge(vertex1Id, vertex2Id);
+        if (e != null) {
+            e.setWeight(weight);
+            System.out.println("Edge weight changed");
         }
     }
 
     public void removeEdge(Edge edge) {
-        for (Edge e : edges) {
-            if (e.compareTo(edge) == 0) {
-                edges.remove(e);
-                return;
-            }
+        Edge e = getEdge(edge.getSource().getId(), edge.getDestination().getId());
+        if (e != null) {
+            deleteEdge(e);
         }
     }
 
     public void removeEdge(String vertex1Id, String vertex2Id) {
         // remove edge from the graph
-        Vertex vertex1 = null;
-        Vertex vertex2 = null;
-        for (Vertex v : vertices) {
-            if (v.getId().equals(vertex1Id)) {
-                vertex1 = v;
-            }
-            if (v.getId().equals(vertex2Id)) {
-                vertex2 = v;
-            }
-        }
-        for (Edge e : edges) {
-            if (e.getSource().getId().equals(vertex1Id) && e.getDestination().getId().equals(vertex2Id)) {
-                edges.remove(e);
-                return;
-            }
-
+        Edge e = getEdge(vertex1Id, vertex2Id);
+        if (e != null) {
+            deleteEdge(e);
+            return;
         }
         System.out.println("Edge does not exist");
     }
 
-    public Collection incidentEdges(Vertex vertex) {
-        // return all incident edges of a vertex
-        Collection<Edge> incidentEdges = new ArrayList<Edge>();
-        for (Edge e : edges) {
-            if (
-//                    e.getSource().getId().equals(vertex.getId())
-                    e.getDestination().getId().equals(vertex.getId())) {
-                incidentEdges.add(e);
+    private void deleteEdge(Edge e) {
+        edges.remove(e);
+        Map<String, Edge> out = edgeIndex.get(e.getSource().getId());
+        if (out != null) {
+            out.remove(e.getDestination().getId());
+            if (out.isEmpty()) {
+                edgeIndex.remove(e.getSource().getId());
             }
         }
-        return incidentEdges;
+        adjacency.get(e.getSource()).removeOut(e);
+        adjacency.get(e.getDestination()).removeIn(e);
+        e.setGraph(null);
+        version++;
+    }
+
+    public Collection<Edge> incidentEdges(Vertex vertex) {
+        // return all incident edges of a vertex
+        return incomingEdges(vertex);
+    }
+
+    // read-only views over the adjacency lists, no copy is made; sorted as of the call
+    public List<Edge> outgoingEdges(Vertex vertex) {
+        Adjacency adj = adjacency.get(vertex);
+        return adj == null ? Collections.<Edge>emptyList() : adj.outgoing();
+    }
+
+    public List<Edge> incomingEdges(Vertex vertex) {
+        Adjacency adj = adjacency.get(vertex);
+        return adj == null ? Collections.<Edge>emptyList() : adj.incoming();
     }
 
     public static Graph createGraphCP410DW() {
@@ -476,10 +563,8 @@ public class Graph {
         for (Vertex v : vertices) {
             sb.append("Vertices:\n");
             sb.append(v.getId() + "\n");
-            for (Edge e : edges) {
-                if (e.getSource().getId().equals(v.getId())) {
-                    sb.append(e.getDestination().getId() + " " + e.getWeight() + "\n");
-                }
+            for (Edge e : adjacency.get(v).outgoing()) {
+                sb.append(e.getDestination().getId() + " " + e.getWeight() + "\n");
             }
         }
         sb.append("\n");
@@ -488,67 +573,122 @@ public class Graph {
     }
 
     public Vertex getVertex(Vertex vertex) {
-        for (Vertex v : vertices) {
-            if (v.compareTo(vertex) == 0) {
-                return v;
-            }
-        }
-        return null;
+        return vertexIndex.get(vertex.getId());
     }
 
     public Vertex getVertex(String id) {
-        for (Vertex v : vertices) {
-            if (v.getId().equals(id)) {
-                return v;
-            }
-        }
-        return null;
+        return vertexIndex.get(id);
     }
 
     public void changeVertexId(Vertex vertex, String newId) {
-        for (Vertex v : vertices) {
-            if (v.compareTo(vertex) == 0) {
-                v.setId(newId);
-                return;
-            }
+        Vertex v = vertexIndex.get(vertex.getId());
+        if (v != null) {
+            v.setId(newId);
         }
     }
 
-    public Edge getEdge(Edge edge) {
-        for (Edge e : edges) {
-            if (e.compareTo(edge) == 0) {
-                return e;
+    // called by Vertex.setId, re-keys the vertex and its edges under the new id
+    void renameVertex(Vertex vertex, String newId) {
+        if (vertex.getId().equals(newId)) {
+            return;
+        }
+        if (vertexIndex.containsKey(newId)) {
+            System.out.println("Vertex already exists");
+            return;
+        }
+        // the tree sets are ordered by id, so take the vertex and its edges out before the id changes
+        Adjacency adj = adjacency.get(vertex);
+        List<Edge> touched = new ArrayList<Edge>(adj.out);
+        for (Edge e : adj.in) {
+            if (e.getSource() != vertex) { // self-loops are already in the outgoing list
+                touched.add(e);
             }
         }
-        return null;
+        for (Edge e : touched) {
+            deleteEdge(e);
+        }
+        vertices.remove(vertex);
+        vertexIndex.remove(vertex.getId());
+
+        vertex.assignId(newId);
+
+        vertices.add(vertex);
+        vertexIndex.put(newId, vertex);
+        for (Edge e : touched) {
+            insertEdge(e);
+        }
+        version++;
     }
 
-    public Edge getEdge(Vertex source, Vertex destination) {
-        for (Edge e : edges) {
-            if (e.getSource().getId().equals(source.getId()) && e.getDestination().getId().equals(destination.getId())) {
-                return e;
-            }
+    // the edge indexes are keyed by the end points, so take the edge out before they change
+    void moveEdge(Edge edge, Vertex source, Vertex destination) {
+        if (edge.getSource() == source && edge.getDestination() == destination) {
+            return;
+        }
+        if (vertexIndex.get(source.getId()) != source || vertexIndex.get(destination.getId()) != destination) {
+            System.out.println("Vertex does not exist");
+            return;
+        }
+        if (getEdge(source.getId(), destination.getId()) != null) {
+            System.out.println("Edge already exists");
+            return;
         }
-        return null;
+        deleteEdge(edge);
+        edge.assignEndpoints(source, destination);
+        insertEdge(edge);
+    }
+
+    public Edge getEdge(Edge edge) {
+        return getEdge(edge.getSource().getId(), edge.getDestination().getId());
+    }
+
+    public Edge getEdge(Vertex source, Vertex destination) {
+        return getEdge(source.getId(), destination.getId());
     }
 
     public Edge getEdge(String vertex1Id, String vertex2Id) {
-        for (Edge e : edges) {
-            if (e.getSource().getId().equals(vertex1Id) && e.getDestination().getId().equals(vertex2Id)) {
-                return e;
-            }
-        }
-        return null;
+        Map<String, Edge> out = edgeIndex.get(vertex1Id);
+        return out == null ? null : out.get(vertex2Id);
     }
 
+    // read-only view of the destinations of the outgoing edges, in id order; no copy is made
     public Set<Vertex> getNeighbors(String vertexId) {
-        Set<Vertex> adjacencyList = new TreeSet<Vertex>();
-        for (Edge e : edges) {
-            if (e.getSource().getId().equals(vertexId)) {
-                adjacencyList.add(e.getDestination());
-            }
+        Vertex v = vertexIndex.get(vertexId);
+        if (v == null) {
+            return Collections.emptySet();
         }
-        return adjacencyList;
+        Adjacency adj = adjacency.get(v);
+        return new AbstractSet<Vertex>() {
+            @Override
+            public Iterator<Vertex> iterator() {
+                Iterator<Edge> edges = adj.outgoing().iterator();
+                return new Iterator<Vertex>() {
+                    @Override
+                    public boolean hasNext() {
+                        return edges.hasNext();
+                    }
+
+                    @Override
+                    public Vertex next() {
+                        return edges.next().getDestination();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Vertex)) {
+                    return false;
+                }
+                Edge e = getEdge(v.getId(), ((Vertex) o).getId());
+                return e != null && e.getSource() == v && e.getDestination() == o;
+            }
+
+            @Override
+            public int size() {
+                return adj.out.size();
+            }
+        };
     }
 
     public Set<Vertex> getVertices() {
@@ -568,22 +708,10 @@ public class Graph {
     }
 
     public Boolean checkVertex(String id) {
-        for (Vertex v : vertices) {
-            if (v.getId().equals(id)) {
-                return true;
-            }
-        }
-
-        return false;
+        return vertexIndex.containsKey(id);
     }
 
     public Boolean checkEdge(String vertex1Id, String vertex2Id) {
-        for (Edge e : edges) {
-            if (e.getSource().getId().equals(vertex1Id) && e.getDestination().getId().equals(vertex2Id)) {
-                return true;
-            }
-        }
-        return false;
+        return getEdge(vertex1Id, vertex2Id) != null;
     }
 }
-
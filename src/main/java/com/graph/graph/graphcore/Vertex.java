@@ -6,6 +6,8 @@ public class Vertex implements Comparable<Vertex> {
     private double positionX;
     private double positionY;
 
+    private Graph graph; // graph that indexes this vertex by id, if any
+
     public Vertex(String id) {
         this(id, 0, 0);
     }
@@ -47,9 +49,21 @@ public class Vertex implements Comparable<Vertex> {
     }
 
     public void setId(String id) {
+        if (graph != null) {
+            graph.renameVertex(this, id);
+        } else {
+            this.id = id;
+        }
+    }
+
+    void assignId(String id) {
         this.id = id;
     }
 
+    void setGraph(Graph graph) {
+        this.graph = graph;
+    }
+
     @Override
     public int compareTo(Vertex o) {
         return this.id.compareTo(o.getId());
@@ -0,0 +1,92 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ALTTest {
+
+    private static void assertAllPairs(ALT alt, Graph graph) {
+        alt.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            for (Vertex t : graph.getVertices()) {
+                alt.setStartVertex(s);
+                alt.setTargetVertex(t);
+                ShortestPathResult actual = alt.solve();
+                TestGraphs.assertSameDistance(expected, actual, t);
+                TestGraphs.assertConsistentTree(actual);
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Landmarks.Selection selection : Landmarks.Selection.values()) {
+            for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+                ALT alt = new ALT();
+                alt.setSelection(selection);
+                alt.setLandmarkCount(3);
+                assertAllPairs(alt, graph);
+            }
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(11);
+        for (int k = 0; k < 20; k++) {
+            assertAllPairs(new ALT(), TestGraphs.random(random, 12, 30, 1, 9));
+            assertAllPairs(new ALT(), TestGraphs.random(random, 12, 30, 0, 1));
+        }
+    }
+
+    @Test
+    void landmarkFileFollowsTheSettings(@TempDir Path dir) {
+        Graph graph = TestGraphs.random(new Random(12), 20, 60, 1, 9);
+        Path file = dir.resolve("landmarks.bin");
+        ALT first = new ALT();
+        first.setLandmarkFile(file);
+        first.setLandmarkCount(2);
+        first.setSelection(Landmarks.Selection.FARTHEST);
+        assertAllPairs(first, graph);
+
+        ALT reloaded = new ALT();
+        reloaded.setLandmarkFile(file);
+        reloaded.setLandmarkCount(2);
+        reloaded.setSelection(Landmarks.Selection.FARTHEST);
+        reloaded.setGraph(graph);
+        assertEquals(Landmarks.Selection.FARTHEST, reloaded.preprocess().getSelection());
+        assertEquals(2, reloaded.getLandmarks().count());
+
+        ALT changed = new ALT();
+        changed.setLandmarkFile(file);
+        changed.setLandmarkCount(5);
+        changed.setSelection(Landmarks.Selection.AVOID);
+        assertAllPairs(changed, graph);
+        assertEquals(5, changed.getLandmarks().count());
+        assertEquals(Landmarks.Selection.AVOID, changed.getLandmarks().getSelection());
+
+        // the file was rebuilt for the new settings
+        reloaded.setLandmarkCount(5);
+        reloaded.setSelection(Landmarks.Selection.AVOID);
+        assertEquals(5, reloaded.preprocess().count());
+    }
+
+    @Test
+    void unreachableTarget() {
+        Graph graph = Graph.createGraphCP443DU();
+        ALT alt = new ALT();
+        alt.setGraph(graph);
+        alt.setStartVertex(graph.getVertex("0"));
+        alt.setTargetVertex(graph.getVertex("7"));
+        assertFalse(alt.solve().hasPathTo(graph.getVertex("7")));
+    }
+}
@@ -0,0 +1,63 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AStarTest {
+
+    // solve() against Bellman-Ford, and the traced run() against solve()
+    private static void assertAllPairs(Graph graph) {
+        AStar aStar = new AStar();
+        aStar.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            for (Vertex t : graph.getVertices()) {
+                aStar.setStartVertex(s);
+                aStar.setTargetVertex(t);
+                ShortestPathResult solved = aStar.solve();
+                TestGraphs.assertSameDistance(expected, solved, t);
+                TestGraphs.assertConsistentTree(solved);
+                aStar.run();
+                ShortestPathResult traced = aStar.getResult();
+                for (Vertex v : graph.getVertices()) {
+                    TestGraphs.assertSameDistance(solved, traced, v);
+                }
+                TestGraphs.assertConsistentTree(traced);
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            assertAllPairs(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(10);
+        for (int k = 0; k < 20; k++) {
+            assertAllPairs(TestGraphs.random(random, 10, 25, 0, 1));
+            assertAllPairs(TestGraphs.random(random, 10, 25, 1, 2000));
+        }
+    }
+
+    @Test
+    void unreachableTargetAndSourceIsTarget() {
+        Graph graph = Graph.createGraphCP443DU();
+        AStar aStar = new AStar();
+        aStar.setGraph(graph);
+        aStar.setStartVertex(graph.getVertex("0"));
+        aStar.setTargetVertex(graph.getVertex("7"));
+        assertFalse(aStar.solve().hasPathTo(graph.getVertex("7")));
+        aStar.setTargetVertex(graph.getVertex("0"));
+        assertEquals(0, aStar.solve().distanceTo(graph.getVertex("0")));
+    }
+}
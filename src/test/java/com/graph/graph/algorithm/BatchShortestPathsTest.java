@@ -0,0 +1,79 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchShortestPathsTest {
+
+    private static void assertMatchesBellmanFord(BatchShortestPaths batch) {
+        Graph graph = batch.getGraph();
+        List<Vertex> sources = new ArrayList<>(graph.getVertices());
+        List<ShortestPathResult> results = batch.solveAll(sources);
+        assertEquals(sources.size(), results.size());
+        for (int k = 0; k < sources.size(); k++) {
+            assertEquals(sources.get(k), results.get(k).getSource());
+            TestGraphs.assertSameResult(TestGraphs.reference(graph, sources.get(k)), results.get(k));
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            BatchShortestPaths batch = new BatchShortestPaths(graph);
+            batch.setChunkSize(2);
+            boolean negativeCycle = graph.getVertices().stream()
+                    .anyMatch(s -> TestGraphs.reference(graph, s).hasNegativeCycle());
+            if (negativeCycle) {
+                assertThrows(IllegalStateException.class, () -> batch.solveAll(graph.getVertices()));
+            } else {
+                assertMatchesBellmanFord(batch);
+            }
+        }
+    }
+
+    @Test
+    void workspacesSurviveGraphChanges() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Random random = new Random(19);
+            Graph graph = TestGraphs.random(random, 30, 90, 0, 9);
+            BatchShortestPaths batch = new BatchShortestPaths(graph);
+            batch.setExecutor(executor);
+            batch.setChunkSize(3);
+            assertMatchesBellmanFord(batch);
+            graph.addVertex("extra");
+            graph.addEdge("v0", "extra");
+            graph.changeEdgeWeight("v0", "extra", 0);
+            assertMatchesBellmanFord(batch);
+            graph.removeVertex("v1");
+            assertMatchesBellmanFord(batch);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void streamedResultsMatchBellmanFord() {
+        Graph graph = TestGraphs.random(new Random(20), 25, 70, 0, 1);
+        BatchShortestPaths batch = new BatchShortestPaths(graph);
+        batch.setChunkSize(4);
+        Map<Vertex, ShortestPathResult> results = new ConcurrentHashMap<>();
+        batch.solveAll(graph.getVertices(), result -> results.put(result.getSource(), result));
+        assertEquals(graph.getVertices().size(), results.size());
+        for (Vertex s : graph.getVertices()) {
+            TestGraphs.assertSameResult(TestGraphs.reference(graph, s), results.get(s));
+        }
+    }
+}
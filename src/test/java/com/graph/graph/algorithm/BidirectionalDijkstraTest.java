@@ -0,0 +1,69 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BidirectionalDijkstraTest {
+
+    private static void assertAllPairs(Graph graph) {
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra();
+        bidirectional.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            for (Vertex t : graph.getVertices()) {
+                bidirectional.setStartVertex(s);
+                bidirectional.setTargetVertex(t);
+                ShortestPathResult actual = bidirectional.solve();
+                TestGraphs.assertSameDistance(expected, actual, t);
+                TestGraphs.assertConsistentTree(actual);
+                if (expected.hasPathTo(t)) {
+                    TestGraphs.assertPath(actual, t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            assertAllPairs(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(20);
+        for (int k = 0; k < 20; k++) {
+            assertAllPairs(TestGraphs.random(random, 12, 30, 0, 1));
+            assertAllPairs(TestGraphs.random(random, 12, 30, 1, 9));
+        }
+    }
+
+    @Test
+    void unreachableTargetAndSourceIsTarget() {
+        Graph graph = Graph.createGraphCP443DU();
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra();
+        bidirectional.setGraph(graph);
+        bidirectional.setStartVertex(graph.getVertex("0"));
+        bidirectional.setTargetVertex(graph.getVertex("7"));
+        assertFalse(bidirectional.solve().hasPathTo(graph.getVertex("7")));
+        bidirectional.setTargetVertex(graph.getVertex("0"));
+        assertEquals(0, bidirectional.solve().distanceTo(graph.getVertex("0")));
+    }
+
+    @Test
+    void targetIsRequired() {
+        Graph graph = Graph.createGraphCP443DU();
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra();
+        bidirectional.setGraph(graph);
+        bidirectional.setStartVertex(graph.getVertex("0"));
+        assertThrows(IllegalStateException.class, bidirectional::solve);
+    }
+}
@@ -0,0 +1,116 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CCHTest {
+
+    // every pair of the graph against Bellman-Ford from the source
+    private static void assertAllPairs(Graph graph) {
+        CCH cch = new CCH();
+        cch.setGraph(graph);
+        assertAllPairs(cch, graph);
+    }
+
+    private static void assertAllPairs(CCH cch, Graph graph) {
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            for (Vertex t : graph.getVertices()) {
+                cch.setStartVertex(s);
+                cch.setTargetVertex(t);
+                ShortestPathResult actual = cch.solve();
+                TestGraphs.assertSameDistance(expected, actual, t);
+                if (actual.hasPathTo(t)) {
+                    TestGraphs.assertPath(actual, t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            assertAllPairs(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(12);
+        for (int k = 0; k < 30; k++) {
+            assertAllPairs(TestGraphs.random(random, 12, 30, 1, 9));
+        }
+    }
+
+    @Test
+    void zeroWeightGraphsGiveSimplePaths() {
+        Random random = new Random(13);
+        for (int k = 0; k < 60; k++) {
+            assertAllPairs(TestGraphs.random(random, 10, 28, 0, 1));
+        }
+    }
+
+    @Test
+    void zeroWeightsAfterCustomization() {
+        Random random = new Random(14);
+        for (int k = 0; k < 20; k++) {
+            Graph graph = TestGraphs.random(random, 10, 28, 1, 9);
+            CCH cch = new CCH();
+            cch.setGraph(graph);
+            assertAllPairs(cch, graph);
+            for (Edge edge : new ArrayList<>(graph.getEdges())) {
+                if (random.nextBoolean()) {
+                    edge.setWeight(0);
+                }
+            }
+            assertAllPairs(cch, graph);
+        }
+    }
+
+    @Test
+    void zeroWeightTwoCycleAtTarget() {
+        Graph graph = new Graph();
+        graph.addVertex("s");
+        graph.addVertex("t");
+        graph.addVertex("x");
+        graph.addEdge("s", "t");
+        graph.addEdge("t", "x");
+        graph.addEdge("x", "t");
+        graph.changeEdgeWeight("s", "t", 1);
+        graph.changeEdgeWeight("t", "x", 0);
+        graph.changeEdgeWeight("x", "t", 0);
+        assertAllPairs(graph);
+    }
+
+    @Test
+    void sourceIsTarget() {
+        Graph graph = Graph.createGraphCP410DW();
+        CCH cch = new CCH();
+        cch.setGraph(graph);
+        cch.setStartVertex(graph.getVertex("2"));
+        cch.setTargetVertex(graph.getVertex("2"));
+        ShortestPathResult result = cch.solve();
+        assertEquals(0, result.distanceTo(graph.getVertex("2")));
+        assertTrue(cch.getPath().isEmpty());
+    }
+
+    @Test
+    void unreachableTarget() {
+        Graph graph = Graph.createGraphCP443DU();
+        CCH cch = new CCH();
+        cch.setGraph(graph);
+        cch.setStartVertex(graph.getVertex("0"));
+        cch.setTargetVertex(graph.getVertex("7"));
+        assertFalse(cch.solve().hasPathTo(graph.getVertex("7")));
+        assertTrue(cch.getPath().isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CHTest {
+
+    // every pair of the graph against Bellman-Ford from the source
+    private static void assertAllPairs(Graph graph) {
+        CH ch = new CH();
+        ch.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            for (Vertex t : graph.getVertices()) {
+                ch.setStartVertex(s);
+                ch.setTargetVertex(t);
+                ShortestPathResult actual = ch.solve();
+                TestGraphs.assertSameDistance(expected, actual, t);
+                if (actual.hasPathTo(t)) {
+                    TestGraphs.assertPath(actual, t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            assertAllPairs(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(12);
+        for (int k = 0; k < 30; k++) {
+            assertAllPairs(TestGraphs.random(random, 12, 30, 1, 9));
+        }
+    }
+
+    @Test
+    void zeroWeightGraphsGiveSimplePaths() {
+        Random random = new Random(13);
+        for (int k = 0; k < 60; k++) {
+            assertAllPairs(TestGraphs.random(random, 10, 28, 0, 1));
+        }
+    }
+
+    @Test
+    void zeroWeightTwoCycleAtTarget() {
+        Graph graph = new Graph();
+        graph.addVertex("s");
+        graph.addVertex("t");
+        graph.addVertex("x");
+        graph.addEdge("s", "t");
+        graph.addEdge("t", "x");
+        graph.addEdge("x", "t");
+        graph.changeEdgeWeight("s", "t", 1);
+        graph.changeEdgeWeight("t", "x", 0);
+        graph.changeEdgeWeight("x", "t", 0);
+        assertAllPairs(graph);
+    }
+
+    @Test
+    void sourceIsTarget() {
+        Graph graph = Graph.createGraphCP410DW();
+        CH ch = new CH();
+        ch.setGraph(graph);
+        ch.setStartVertex(graph.getVertex("2"));
+        ch.setTargetVertex(graph.getVertex("2"));
+        ShortestPathResult result = ch.solve();
+        assertEquals(0, result.distanceTo(graph.getVertex("2")));
+        assertTrue(ch.getPath().isEmpty());
+    }
+
+    @Test
+    void unreachableTarget() {
+        Graph graph = Graph.createGraphCP443DU();
+        CH ch = new CH();
+        ch.setGraph(graph);
+        ch.setStartVertex(graph.getVertex("0"));
+        ch.setTargetVertex(graph.getVertex("7"));
+        assertFalse(ch.solve().hasPathTo(graph.getVertex("7")));
+        assertTrue(ch.getPath().isEmpty());
+    }
+}
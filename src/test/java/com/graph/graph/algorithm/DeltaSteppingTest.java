@@ -0,0 +1,74 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeltaSteppingTest {
+    private static final double[] DELTAS = {0, 0.5, 3, 1000};
+
+    private static void assertMatchesBellmanFord(Graph graph, double delta, ForkJoinPool pool) {
+        DeltaStepping deltaStepping = new DeltaStepping();
+        deltaStepping.setGraph(graph);
+        deltaStepping.setDelta(delta);
+        deltaStepping.setPool(pool);
+        for (Vertex s : graph.getVertices()) {
+            deltaStepping.setStartVertex(s);
+            TestGraphs.assertSameResult(TestGraphs.reference(graph, s), deltaStepping.solve());
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (double delta : DELTAS) {
+            for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+                assertMatchesBellmanFord(graph, delta, ForkJoinPool.commonPool());
+            }
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int k = 0; k < 20; k++) {
+                Graph weighted = TestGraphs.random(random, 15, 45, 1, 9);
+                Graph zeroOne = TestGraphs.random(random, 15, 45, 0, 1);
+                for (double delta : DELTAS) {
+                    assertMatchesBellmanFord(weighted, delta, pool);
+                    assertMatchesBellmanFord(zeroOne, delta, pool);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelFrontiersMatchBellmanFord() {
+        Random random = new Random(9);
+        Graph graph = TestGraphs.random(random, 3000, 15000, 0, 5);
+        DeltaStepping deltaStepping = new DeltaStepping();
+        deltaStepping.setGraph(graph);
+        for (int k = 0; k < 3; k++) {
+            Vertex s = graph.getVertex("v" + random.nextInt(3000));
+            deltaStepping.setStartVertex(s);
+            TestGraphs.assertSameResult(TestGraphs.reference(graph, s), deltaStepping.solve());
+        }
+    }
+
+    @Test
+    void negativeWeightsAreRejected() {
+        Graph graph = Graph.createDijkstraKiller();
+        DeltaStepping deltaStepping = new DeltaStepping();
+        deltaStepping.setGraph(graph);
+        deltaStepping.setStartVertex(graph.getVertex("0"));
+        assertThrows(IllegalStateException.class, deltaStepping::solve);
+    }
+}
@@ -0,0 +1,49 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class DijkstraTest {
+
+    // a run stopped at the target agrees with Bellman-Ford on the target and keeps no unsettled labels
+    private static void assertPointToPoint(Graph graph) {
+        Dijkstra dijkstra = new Dijkstra();
+        dijkstra.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            dijkstra.setStartVertex(s);
+            dijkstra.setTargetVertex(null);
+            TestGraphs.assertSameResult(expected, dijkstra.solve());
+            for (Vertex t : graph.getVertices()) {
+                dijkstra.setTargetVertex(t);
+                ShortestPathResult actual = dijkstra.solve();
+                TestGraphs.assertSameDistance(expected, actual, t);
+                TestGraphs.assertConsistentTree(actual);
+                for (Vertex v : graph.getVertices()) {
+                    if (actual.hasPathTo(v)) {
+                        TestGraphs.assertSameDistance(expected, actual, v);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            assertPointToPoint(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(21);
+        for (int k = 0; k < 20; k++) {
+            assertPointToPoint(TestGraphs.random(random, 12, 30, 0, 1));
+            assertPointToPoint(TestGraphs.random(random, 12, 30, 1, 9));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectionOptimizingBFSTest {
+
+    private static DirectionOptimizingBFS assertMatchesBellmanFord(Graph graph, Vertex source) {
+        DirectionOptimizingBFS bfs = new DirectionOptimizingBFS();
+        bfs.setGraph(graph);
+        bfs.setStartVertex(source);
+        TestGraphs.assertSameResult(TestGraphs.reference(graph, source), bfs.solve());
+        return bfs;
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            TestGraphs.unitWeights(graph);
+            for (Vertex s : graph.getVertices()) {
+                assertMatchesBellmanFord(graph, s);
+            }
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(21);
+        for (int k = 0; k < 30; k++) {
+            Graph graph = TestGraphs.random(random, 70, 40 + random.nextInt(600), 1, 1);
+            for (int i = 0; i < 5; i++) {
+                assertMatchesBellmanFord(graph, graph.getVertex("v" + random.nextInt(70)));
+            }
+        }
+    }
+
+    @Test
+    void bottomUpLevelsMatchBellmanFord() {
+        Random random = new Random(22);
+        Graph graph = TestGraphs.random(random, 4000, 60000, 1, 1);
+        int bottomUp = 0;
+        for (int i = 0; i < 3; i++) {
+            bottomUp += assertMatchesBellmanFord(graph, graph.getVertex("v" + random.nextInt(4000))).getBottomUpLevels();
+        }
+        assertTrue(bottomUp > 0);
+    }
+}
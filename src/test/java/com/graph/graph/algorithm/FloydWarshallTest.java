@@ -0,0 +1,107 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloydWarshallTest {
+    private static final int[] TILE_SIZES = {1, 3, FloydWarshall.DEFAULT_TILE_SIZE};
+
+    private static FloydWarshall floydWarshall(Graph graph, int tileSize) {
+        FloydWarshall floydWarshall = new FloydWarshall();
+        floydWarshall.setGraph(graph);
+        floydWarshall.setTileSize(tileSize);
+        return floydWarshall;
+    }
+
+    // every row against Bellman-Ford, and every matrix path against the matrix distance
+    private static void assertMatchesBellmanFord(Graph graph, int tileSize) {
+        FloydWarshall floydWarshall = floydWarshall(graph, tileSize);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            floydWarshall.setStartVertex(s);
+            ShortestPathResult actual = floydWarshall.solve();
+            if (expected.hasNegativeCycle()) {
+                assertTrue(actual.hasNegativeCycle());
+                return;
+            }
+            TestGraphs.assertSameResult(expected, actual);
+        }
+        DistanceMatrix matrix = floydWarshall.computeAll();
+        for (Vertex u : graph.getVertices()) {
+            for (Vertex v : graph.getVertices()) {
+                assertPath(graph, matrix, u, v);
+            }
+        }
+    }
+
+    private static void assertPath(Graph graph, DistanceMatrix matrix, Vertex u, Vertex v) {
+        String where = u.getId() + " -> " + v.getId();
+        List<Vertex> path = matrix.path(u, v);
+        if (!matrix.hasPath(u, v)) {
+            assertTrue(path.isEmpty(), where);
+            return;
+        }
+        assertFalse(path.isEmpty(), where);
+        assertEquals(u, path.get(0), where);
+        assertEquals(v, path.get(path.size() - 1), where);
+        double length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Edge edge = graph.getEdge(path.get(i - 1), path.get(i));
+            assertNotNull(edge, where);
+            length += edge.getWeight();
+        }
+        assertEquals(matrix.distance(u, v), length, TestGraphs.EPS, where);
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (int tileSize : TILE_SIZES) {
+            for (Graph graph : TestGraphs.fixtures()) {
+                assertMatchesBellmanFord(graph, tileSize);
+            }
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(18);
+        for (int k = 0; k < 30; k++) {
+            Graph graph = TestGraphs.random(random, 14, 40, -2, 9);
+            for (int tileSize : TILE_SIZES) {
+                assertMatchesBellmanFord(graph, tileSize);
+            }
+        }
+    }
+
+    @Test
+    void tiledPathsWithZeroWeights() {
+        Random random = new Random(19);
+        for (int k = 0; k < 100; k++) {
+            Graph graph = TestGraphs.random(random, 12, 36, 0, 1);
+            for (int tileSize : TILE_SIZES) {
+                assertMatchesBellmanFord(graph, tileSize);
+            }
+        }
+    }
+
+    @Test
+    void negativeCycleOnlyFailsAllPairs() {
+        Graph graph = Graph.createGraphCP410DW();
+        graph.changeEdgeWeight("2", "0", -7);
+        FloydWarshall floydWarshall = floydWarshall(graph, 2);
+        floydWarshall.setStartVertex(graph.getVertex("0"));
+        assertTrue(floydWarshall.solve().hasNegativeCycle());
+        assertThrows(IllegalStateException.class, floydWarshall::computeAll);
+    }
+}
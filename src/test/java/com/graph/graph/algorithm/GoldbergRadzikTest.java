@@ -0,0 +1,43 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GoldbergRadzikTest {
+
+    private static void assertMatchesBellmanFord(Graph graph) {
+        GoldbergRadzik goldbergRadzik = new GoldbergRadzik();
+        goldbergRadzik.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            goldbergRadzik.setStartVertex(s);
+            ShortestPathResult actual = goldbergRadzik.solve();
+            assertEquals(expected.hasNegativeCycle(), actual.hasNegativeCycle(), s.getId());
+            if (!expected.hasNegativeCycle()) {
+                TestGraphs.assertSameResult(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            assertMatchesBellmanFord(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(15);
+        for (int k = 0; k < 30; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, -3, 9));
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, 0, 1));
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 20, -1, 1));
+        }
+    }
+}
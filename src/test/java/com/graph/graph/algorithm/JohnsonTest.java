@@ -0,0 +1,94 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JohnsonTest {
+
+    private static void assertMatchesBellmanFord(Graph graph) {
+        Johnson johnson = new Johnson();
+        johnson.setGraph(graph);
+        boolean negativeCycle = false;
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            johnson.setStartVertex(s);
+            ShortestPathResult actual = johnson.solve();
+            assertEquals(expected.hasNegativeCycle(), actual.hasNegativeCycle(), s.getId());
+            if (!expected.hasNegativeCycle()) {
+                TestGraphs.assertSameResult(expected, actual);
+            }
+            negativeCycle |= expected.hasNegativeCycle();
+        }
+        if (negativeCycle) {
+            assertThrows(IllegalStateException.class, johnson::computeAll);
+            return;
+        }
+        DistanceMatrix matrix = johnson.computeAll();
+        for (Vertex u : graph.getVertices()) {
+            ShortestPathResult row = matrix.resultFrom(matrix.getGraph().idOf(u));
+            TestGraphs.assertSameResult(TestGraphs.reference(graph, u), row);
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            assertMatchesBellmanFord(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(17);
+        for (int k = 0; k < 40; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, -3, 9));
+        }
+        for (int k = 0; k < 40; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, 0, 1));
+        }
+    }
+
+    @Test
+    void unreachableNegativeCycle() {
+        Graph graph = new Graph();
+        graph.addVertex("s");
+        graph.addVertex("v0");
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addEdge("s", "v0");
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "a");
+        graph.changeEdgeWeight("s", "v0", 16);
+        graph.changeEdgeWeight("a", "b", -2);
+        graph.changeEdgeWeight("b", "a", 1);
+        Johnson johnson = new Johnson();
+        johnson.setGraph(graph);
+        johnson.setStartVertex(graph.getVertex("s"));
+        ShortestPathResult result = johnson.solve();
+        assertFalse(result.hasNegativeCycle());
+        assertEquals(16, result.distanceTo(graph.getVertex("v0")));
+        assertFalse(result.hasPathTo(graph.getVertex("a")));
+
+        johnson.setStartVertex(graph.getVertex("a"));
+        assertTrue(johnson.solve().hasNegativeCycle());
+        assertThrows(IllegalStateException.class, johnson::computeAll);
+    }
+
+    @Test
+    void sourceIsTarget() {
+        Graph graph = Graph.createDijkstraKiller();
+        Johnson johnson = new Johnson();
+        johnson.setGraph(graph);
+        johnson.setStartVertex(graph.getVertex("0"));
+        johnson.setTargetVertex(graph.getVertex("0"));
+        assertEquals(0, johnson.solve().distanceTo(graph.getVertex("0")));
+    }
+}
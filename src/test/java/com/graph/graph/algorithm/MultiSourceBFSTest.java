@@ -0,0 +1,69 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MultiSourceBFSTest {
+    private static final int[] GROUP_SIZES = {64, 128, 192};
+
+    private static void assertHops(Graph graph, CompactGraph compact, Vertex source, int[] hops) {
+        ShortestPathResult expected = TestGraphs.reference(graph, source);
+        for (Vertex v : graph.getVertices()) {
+            int expectedHops = expected.hasPathTo(v) ? (int) expected.distanceTo(v) : MultiSourceBFS.UNREACHED;
+            assertEquals(expectedHops, hops[compact.idOf(v)], source.getId() + " -> " + v.getId());
+        }
+    }
+
+    private static void assertMatchesBellmanFord(Graph graph, List<Vertex> sources) {
+        for (int groupSize : GROUP_SIZES) {
+            MultiSourceBFS bfs = new MultiSourceBFS(graph);
+            bfs.setGroupSize(groupSize);
+            int[][] hops = bfs.solveAll(sources);
+            assertEquals(sources.size(), hops.length);
+            for (int k = 0; k < sources.size(); k++) {
+                assertHops(graph, bfs.getCompactGraph(), sources.get(k), hops[k]);
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            TestGraphs.unitWeights(graph);
+            assertMatchesBellmanFord(graph, new ArrayList<>(graph.getVertices()));
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(22);
+        for (int k = 0; k < 10; k++) {
+            Graph graph = TestGraphs.random(random, 150, 100 + random.nextInt(600), 1, 1);
+            List<Vertex> sources = new ArrayList<>(graph.getVertices());
+            sources.add(sources.get(0)); // a repeated source gets its own row
+            assertMatchesBellmanFord(graph, sources);
+        }
+    }
+
+    @Test
+    void streamedRowsMatchBellmanFord() {
+        Graph graph = TestGraphs.random(new Random(23), 100, 300, 1, 1);
+        MultiSourceBFS bfs = new MultiSourceBFS(graph);
+        Map<Vertex, int[]> rows = new ConcurrentHashMap<>();
+        bfs.solveAll(new ArrayList<>(graph.getVertices()), (source, hops) -> rows.put(source, hops.clone()));
+        assertEquals(graph.getVertices().size(), rows.size());
+        for (Vertex s : graph.getVertices()) {
+            assertHops(graph, bfs.getCompactGraph(), s, rows.get(s));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NearestFacilityTest {
+
+    // every vertex is at the smallest offset plus Bellman-Ford distance over the sources, and its
+    // nearest source reaches it at that length
+    private static void assertMatchesBellmanFord(Graph graph, List<Vertex> sources, double[] offsets) {
+        NearestFacility facility = new NearestFacility();
+        facility.setGraph(graph);
+        List<ShortestPathResult> references = new ArrayList<>();
+        for (int k = 0; k < sources.size(); k++) {
+            facility.addSource(sources.get(k), offsets[k]);
+            references.add(TestGraphs.reference(graph, sources.get(k)));
+        }
+        ShortestPathResult actual = facility.solve();
+        for (Vertex v : graph.getVertices()) {
+            double expected = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < sources.size(); k++) {
+                if (references.get(k).hasPathTo(v)) {
+                    expected = Math.min(expected, offsets[k] + references.get(k).distanceTo(v));
+                }
+            }
+            String where = sources + " -> " + v.getId();
+            assertEquals(expected != Double.POSITIVE_INFINITY, actual.hasPathTo(v), where);
+            Vertex nearest = facility.getNearestSource(v);
+            if (expected == Double.POSITIVE_INFINITY) {
+                assertNull(nearest, where);
+                continue;
+            }
+            assertEquals(expected, actual.distanceTo(v), TestGraphs.EPS, where);
+            assertNotNull(nearest, where);
+            int k = sources.indexOf(nearest);
+            assertEquals(expected, offsets[k] + references.get(k).distanceTo(v), TestGraphs.EPS, where);
+            // the tree has no single root, so check each parent edge is tight instead of whole paths
+            CompactGraph compact = actual.getGraph();
+            int p = actual.parentOf(compact.idOf(v));
+            if (p != ShortestPathResult.NO_PARENT) {
+                Edge edge = graph.getEdge(compact.vertex(p), v);
+                assertNotNull(edge, where);
+                assertEquals(actual.distanceTo(v), actual.distanceTo(p) + edge.getWeight(), TestGraphs.EPS, where);
+                assertEquals(nearest, facility.getNearestSource(compact.vertex(p)), where);
+            }
+        }
+    }
+
+    private static void assertRandomSources(Graph graph, Random random) {
+        List<Vertex> vertices = new ArrayList<>(graph.getVertices());
+        Collections.shuffle(vertices, random);
+        int count = 1 + random.nextInt(Math.min(3, vertices.size()));
+        double[] offsets = new double[count];
+        for (int k = 0; k < count; k++) {
+            offsets[k] = random.nextInt(3);
+        }
+        assertMatchesBellmanFord(graph, vertices.subList(0, count), offsets);
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        Random random = new Random(30);
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            for (int k = 0; k < 5; k++) {
+                assertRandomSources(graph, random);
+            }
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(31);
+        for (int k = 0; k < 30; k++) {
+            assertRandomSources(TestGraphs.random(random, 15, 40, 0, 1), random);
+            assertRandomSources(TestGraphs.random(random, 15, 40, 1, 9), random);
+        }
+    }
+
+    @Test
+    void startVertexIsTheOnlySourceByDefault() {
+        Graph graph = Graph.createGraphCP443DU();
+        NearestFacility facility = new NearestFacility();
+        facility.setGraph(graph);
+        facility.setStartVertex(graph.getVertex("0"));
+        ShortestPathResult actual = facility.solve();
+        ShortestPathResult expected = TestGraphs.reference(graph, graph.getVertex("0"));
+        for (Vertex v : graph.getVertices()) {
+            assertEquals(expected.hasPathTo(v), actual.hasPathTo(v), v.getId());
+            if (expected.hasPathTo(v)) {
+                assertEquals(expected.distanceTo(v), actual.distanceTo(v), TestGraphs.EPS, v.getId());
+                assertEquals(graph.getVertex("0"), facility.getNearestSource(v));
+            }
+        }
+        assertFalse(actual.hasPathTo(graph.getVertex("7")));
+    }
+
+    @Test
+    void gettersNeedSolve() {
+        Graph graph = Graph.createGraphCP443DU();
+        NearestFacility facility = new NearestFacility();
+        facility.setGraph(graph);
+        facility.addSource(graph.getVertex("0"));
+        assertThrows(IllegalStateException.class, facility::getNearestSourceIds);
+        assertThrows(IllegalStateException.class, () -> facility.getNearestSource(graph.getVertex("0")));
+    }
+}
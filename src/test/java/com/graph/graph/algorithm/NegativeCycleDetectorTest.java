@@ -0,0 +1,83 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NegativeCycleDetectorTest {
+
+    // a closed walk over edges of the graph with negative total weight
+    private static void assertNegativeCycle(Graph graph, List<Edge> cycle) {
+        double weight = 0;
+        for (int i = 0; i < cycle.size(); i++) {
+            Edge edge = cycle.get(i);
+            assertSame(edge, graph.getEdge(edge.getSource(), edge.getDestination()));
+            assertSame(edge.getDestination(), cycle.get((i + 1) % cycle.size()).getSource());
+            weight += edge.getWeight();
+        }
+        assertTrue(weight < 0, "cycle weight " + weight);
+    }
+
+    private static void assertMatchesBellmanFord(Graph graph) {
+        NegativeCycleDetector detector = new NegativeCycleDetector();
+        detector.setGraph(graph);
+        boolean anywhere = false;
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            detector.setStartVertex(s);
+            ShortestPathResult actual = detector.solve();
+            List<Edge> cycle = detector.getNegativeCycle();
+            assertEquals(expected.hasNegativeCycle(), !cycle.isEmpty(), s.getId());
+            assertEquals(expected.hasNegativeCycle(), actual.hasNegativeCycle(), s.getId());
+            if (expected.hasNegativeCycle()) {
+                assertNegativeCycle(graph, cycle);
+            } else {
+                TestGraphs.assertSameResult(expected, actual);
+            }
+            anywhere |= expected.hasNegativeCycle();
+        }
+        detector.setStartVertex(null);
+        List<Edge> cycle = detector.findNegativeCycle();
+        assertEquals(anywhere, !cycle.isEmpty());
+        if (anywhere) {
+            assertNegativeCycle(graph, cycle);
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            assertMatchesBellmanFord(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(16);
+        for (int k = 0; k < 40; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, -3, 9));
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 20, -1, 1));
+        }
+    }
+
+    @Test
+    void unreachableCycleIsOnlyFoundWithoutAStart() {
+        Graph graph = Graph.createGraphCP443DU();
+        graph.addEdge("6", "7");
+        graph.changeEdgeWeight("6", "7", -2);
+        NegativeCycleDetector detector = new NegativeCycleDetector();
+        detector.setGraph(graph);
+        detector.setStartVertex(graph.getVertex("0"));
+        assertTrue(detector.findNegativeCycle().isEmpty());
+        detector.setStartVertex(null);
+        assertEquals(2, detector.findNegativeCycle().size());
+    }
+}
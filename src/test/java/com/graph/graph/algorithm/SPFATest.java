@@ -0,0 +1,47 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SPFATest {
+
+    private static void assertMatchesBellmanFord(Graph graph) {
+        for (int options = 0; options < 4; options++) {
+            SPFA spfa = new SPFA();
+            spfa.setGraph(graph);
+            spfa.setSmallLabelFirst((options & 1) != 0);
+            spfa.setLargeLabelLast((options & 2) != 0);
+            for (Vertex s : graph.getVertices()) {
+                ShortestPathResult expected = TestGraphs.reference(graph, s);
+                spfa.setStartVertex(s);
+                ShortestPathResult actual = spfa.solve();
+                assertEquals(expected.hasNegativeCycle(), actual.hasNegativeCycle(), s.getId());
+                if (!expected.hasNegativeCycle()) {
+                    TestGraphs.assertSameResult(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    void fixturesMatchBellmanFord() {
+        for (Graph graph : TestGraphs.fixtures()) {
+            assertMatchesBellmanFord(graph);
+        }
+    }
+
+    @Test
+    void randomGraphsMatchBellmanFord() {
+        Random random = new Random(14);
+        for (int k = 0; k < 30; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, -3, 9));
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, 0, 1));
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 20, -1, 1));
+        }
+    }
+}
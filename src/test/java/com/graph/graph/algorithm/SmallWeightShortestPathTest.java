@@ -0,0 +1,82 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SmallWeightShortestPathTest {
+
+    // full runs against Bellman-Ford, and runs stopped at a target keep only exact labels
+    private static void assertMatchesBellmanFord(Graph graph, SmallWeightShortestPath.Mode mode) {
+        SmallWeightShortestPath engine = new SmallWeightShortestPath();
+        engine.setGraph(graph);
+        for (Vertex s : graph.getVertices()) {
+            ShortestPathResult expected = TestGraphs.reference(graph, s);
+            engine.setStartVertex(s);
+            engine.setTargetVertex(null);
+            TestGraphs.assertSameResult(expected, engine.solve());
+            assertEquals(mode, engine.getMode());
+            for (Vertex t : graph.getVertices()) {
+                engine.setTargetVertex(t);
+                ShortestPathResult actual = engine.solve();
+                TestGraphs.assertSameDistance(expected, actual, t);
+                TestGraphs.assertConsistentTree(actual);
+                for (Vertex v : graph.getVertices()) {
+                    if (actual.hasPathTo(v)) {
+                        TestGraphs.assertSameDistance(expected, actual, v);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Graph halved(Graph graph) {
+        for (Edge edge : graph.getEdges()) {
+            edge.setWeight(edge.getWeight() / 2);
+        }
+        return graph;
+    }
+
+    @Test
+    void zeroOneWeightsRunZeroOneBfs() {
+        Random random = new Random(40);
+        for (int k = 0; k < 20; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, 0, 1), SmallWeightShortestPath.Mode.ZERO_ONE_BFS);
+        }
+        for (Graph graph : TestGraphs.nonNegativeFixtures()) {
+            assertMatchesBellmanFord(TestGraphs.unitWeights(graph), SmallWeightShortestPath.Mode.ZERO_ONE_BFS);
+        }
+    }
+
+    @Test
+    void smallIntegerWeightsRunDial() {
+        Random random = new Random(41);
+        for (int k = 0; k < 20; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, 0, 9), SmallWeightShortestPath.Mode.DIAL);
+        }
+    }
+
+    @Test
+    void otherWeightsRunDijkstra() {
+        Random random = new Random(42);
+        for (int k = 0; k < 10; k++) {
+            assertMatchesBellmanFord(TestGraphs.random(random, 12, 30, 1, 100000), SmallWeightShortestPath.Mode.DIJKSTRA);
+            assertMatchesBellmanFord(halved(TestGraphs.random(random, 12, 30, 1, 9)), SmallWeightShortestPath.Mode.DIJKSTRA);
+        }
+    }
+
+    @Test
+    void negativeWeightsAreRejected() {
+        Graph graph = Graph.createDijkstraKiller();
+        SmallWeightShortestPath engine = new SmallWeightShortestPath();
+        engine.setGraph(graph);
+        engine.setStartVertex(graph.getVertex("0"));
+        assertThrows(IllegalStateException.class, engine::solve);
+    }
+}
@@ -0,0 +1,119 @@
+package com.graph.graph.algorithm;
+
+import com.graph.graph.graphcore.CompactGraph;
+import com.graph.graph.graphcore.Edge;
+import com.graph.graph.graphcore.Graph;
+import com.graph.graph.graphcore.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shared fixtures for the differential tests: the example graphs of {@link Graph}, small random
+ * graphs and a reference Bellman-Ford to compare every engine against.
+ */
+final class TestGraphs {
+    static final double EPS = 1e-9;
+
+    private TestGraphs() {
+    }
+
+    static List<Graph> fixtures() {
+        return Arrays.asList(Graph.createGraphCP410DW(), Graph.createGraphCP443DU(),
+                Graph.createGraphCP416DWDAG(), Graph.createGraphBIG(), Graph.createGraphZigZag(),
+                Graph.createGraphWheel(), Graph.createGraphCP420(), Graph.createGraphCP422(),
+                Graph.createDijkstraKiller(), Graph.createGraphBellmanFordKiller());
+    }
+
+    static List<Graph> nonNegativeFixtures() {
+        List<Graph> graphs = new ArrayList<>();
+        for (Graph graph : fixtures()) {
+            if (graph.getEdges().stream().allMatch(e -> e.getWeight() >= 0)) {
+                graphs.add(graph);
+            }
+        }
+        return graphs;
+    }
+
+    // n vertices "v0".."v{n-1}" and up to m edges with integer weights in [minWeight, maxWeight]
+    static Graph random(Random random, int n, int m, int minWeight, int maxWeight) {
+        Graph graph = new Graph();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex("v" + i, 1 + random.nextInt(1000), 1 + random.nextInt(1000));
+        }
+        for (int k = 0; k < m; k++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            if (u != v) {
+                graph.addEdge("v" + u, "v" + v);
+                graph.changeEdgeWeight("v" + u, "v" + v, minWeight + random.nextInt(maxWeight - minWeight + 1));
+            }
+        }
+        return graph;
+    }
+
+    // every weight set to 1, so the reference gives hop distances for the engines that ignore weights
+    static Graph unitWeights(Graph graph) {
+        for (Edge edge : graph.getEdges()) {
+            edge.setWeight(1);
+        }
+        return graph;
+    }
+
+    static ShortestPathResult reference(Graph graph, Vertex source) {
+        BellmanFord bellmanFord = new BellmanFord();
+        bellmanFord.setGraph(graph);
+        bellmanFord.setStartVertex(source);
+        return bellmanFord.solve();
+    }
+
+    static void assertSameDistance(ShortestPathResult expected, ShortestPathResult actual, Vertex target) {
+        String where = expected.getSource().getId() + " -> " + target.getId();
+        assertEquals(expected.hasPathTo(target), actual.hasPathTo(target), where);
+        if (expected.hasPathTo(target)) {
+            assertEquals(expected.distanceTo(target), actual.distanceTo(target), EPS, where);
+        }
+    }
+
+    // same distances as the reference and a parent tree whose paths add up to them
+    static void assertSameResult(ShortestPathResult expected, ShortestPathResult actual) {
+        for (Vertex v : expected.getGraph().getGraph().getVertices()) {
+            assertSameDistance(expected, actual, v);
+        }
+        assertConsistentTree(actual);
+    }
+
+    static void assertConsistentTree(ShortestPathResult result) {
+        CompactGraph compact = result.getGraph();
+        for (int v = 0; v < compact.numVertices(); v++) {
+            if (result.hasPathTo(v)) {
+                assertPath(result, compact.vertex(v));
+            }
+        }
+    }
+
+    // pathTo(target) starts at the source, follows graph edges and has the reported length
+    static void assertPath(ShortestPathResult result, Vertex target) {
+        List<Vertex> path = result.pathTo(target);
+        String where = result.getSource().getId() + " -> " + target.getId();
+        assertFalse(path.isEmpty(), where);
+        assertEquals(result.getSource(), path.get(0), where);
+        assertEquals(target, path.get(path.size() - 1), where);
+        Graph graph = result.getGraph().getGraph();
+        double length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Edge edge = graph.getEdge(path.get(i - 1), path.get(i));
+            assertNotNull(edge, where);
+            length += edge.getWeight();
+        }
+        assertEquals(result.distanceTo(target), length, EPS, where);
+        assertTrue(path.stream().distinct().count() == path.size(), where);
+    }
+}
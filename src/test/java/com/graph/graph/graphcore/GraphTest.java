@@ -0,0 +1,117 @@
+package com.graph.graph.graphcore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphTest {
+
+    // adjacency lists and neighbor views against a scan of the edge set
+    private static void assertAdjacency(Graph graph) {
+        for (Vertex v : graph.getVertices()) {
+            List<Edge> out = new ArrayList<>();
+            List<Edge> in = new ArrayList<>();
+            TreeSet<Vertex> neighbors = new TreeSet<>();
+            for (Edge e : graph.getEdges()) {
+                if (e.getSource() == v) {
+                    out.add(e);
+                    neighbors.add(e.getDestination());
+                }
+                if (e.getDestination() == v) {
+                    in.add(e);
+                }
+            }
+            out.sort((a, b) -> a.getDestination().getId().compareTo(b.getDestination().getId()));
+            in.sort((a, b) -> a.getSource().getId().compareTo(b.getSource().getId()));
+            assertEquals(out, graph.outgoingEdges(v), v.getId());
+            assertEquals(in, graph.incomingEdges(v), v.getId());
+            assertEquals(new ArrayList<>(neighbors), new ArrayList<>(graph.getNeighbors(v.getId())), v.getId());
+            for (Vertex w : graph.getVertices()) {
+                assertEquals(neighbors.contains(w), graph.getNeighbors(v.getId()).contains(w));
+            }
+        }
+    }
+
+    @Test
+    void adjacencyFollowsRandomEdits() {
+        Random random = new Random(2);
+        Graph graph = new Graph();
+        int n = 15;
+        for (int i = 0; i < n; i++) {
+            graph.addVertex("v" + i);
+        }
+        for (int step = 0; step < 600; step++) {
+            String a = "v" + random.nextInt(n);
+            String b = "v" + random.nextInt(n);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                graph.addEdge(a, b);
+            } else if (op < 9) {
+                graph.removeEdge(a, b);
+            } else if (graph.checkVertex(a)) {
+                graph.removeVertex(a);
+                graph.addVertex(a);
+            }
+            if (step % 25 == 0) {
+                assertAdjacency(graph);
+            }
+        }
+        assertAdjacency(graph);
+    }
+
+    @Test
+    void removingAHub() {
+        Graph graph = new Graph();
+        graph.addVertex("hub");
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex("v" + i);
+            graph.addEdge("hub", "v" + i);
+            graph.addEdge("v" + i, "hub");
+        }
+        graph.removeEdge("hub", "v7");
+        assertAdjacency(graph);
+        graph.removeVertex("hub");
+        assertEquals(0, graph.numEdges());
+        assertTrue(graph.getNeighbors("v3").isEmpty());
+        assertFalse(graph.getNeighbors("hub").iterator().hasNext());
+    }
+
+    @Test
+    void movingAnEdgeUpdatesTheIndexes() {
+        Graph graph = Graph.createGraphCP410DW();
+        Edge edge = graph.getEdge("0", "1");
+        edge.setDestination(graph.getVertex("2"));
+        assertNull(graph.getEdge("0", "1"));
+        assertEquals(edge, graph.getEdge("0", "2"));
+        edge.setSource(graph.getVertex("4"));
+        assertEquals(edge, graph.getEdge("4", "2"));
+        assertEquals(4, edge.getWeight());
+        assertAdjacency(graph);
+
+        // an existing edge between the new end points wins, nothing changes
+        edge.setSource(graph.getVertex("1"));
+        assertEquals(graph.getVertex("4"), edge.getSource());
+        assertAdjacency(graph);
+
+        Edge loose = new Edge(graph.getVertex("0"), graph.getVertex("1"), 1);
+        loose.setDestination(graph.getVertex("3"));
+        assertEquals(graph.getVertex("3"), loose.getDestination());
+        assertNull(graph.getEdge("0", "1"));
+    }
+
+    @Test
+    void renameKeepsAdjacencySorted() {
+        Graph graph = Graph.createGraphBIG();
+        graph.getVertex("3").setId("z");
+        graph.getVertex("0").setId("35");
+        assertAdjacency(graph);
+    }
+}